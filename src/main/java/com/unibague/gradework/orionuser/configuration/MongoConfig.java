@@ -0,0 +1,30 @@
+package com.unibague.gradework.orionuser.configuration;
+
+import com.unibague.gradework.orionuser.repository.CachingDbRefResolver;
+import com.unibague.gradework.orionuser.repository.RoleReferenceCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+/**
+ * Replaces Spring Boot's MappingMongoConverter only to plug in the caching DbRefResolver,
+ * so User.role references are resolved from memory instead of one query per user
+ */
+@Configuration
+public class MongoConfig {
+
+    @Bean
+    public MappingMongoConverter mappingMongoConverter(MongoDatabaseFactory factory,
+                                                       MongoMappingContext context,
+                                                       MongoCustomConversions conversions,
+                                                       RoleReferenceCache roleReferenceCache) {
+        MappingMongoConverter converter = new MappingMongoConverter(
+                new CachingDbRefResolver(factory, roleReferenceCache), context);
+        converter.setCustomConversions(conversions);
+        converter.setCodecRegistryProvider(factory);
+        return converter;
+    }
+}
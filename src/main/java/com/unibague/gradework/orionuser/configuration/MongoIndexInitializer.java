@@ -0,0 +1,71 @@
+package com.unibague.gradework.orionuser.configuration;
+
+import com.unibague.gradework.orionuser.model.Actor;
+import com.unibague.gradework.orionuser.model.Identity;
+import com.unibague.gradework.orionuser.model.Role;
+import com.unibague.gradework.orionuser.model.Student;
+import com.unibague.gradework.orionuser.model.User;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Creates the @Indexed indexes of the persisted entities at startup, instead of
+ * spring.data.mongodb.auto-index-creation
+ * Auto-creation fails the whole startup when a unique index meets legacy duplicates
+ * (e.g. two students with the same email or studentID). Here such an index is logged and
+ * skipped, and the service starts without it; remove the duplicates and restart to build it.
+ * The identities collection is only written by this service and relies on its unique indexes,
+ * so a failure there still stops the startup.
+ */
+@Slf4j
+@Component
+public class MongoIndexInitializer {
+
+    /** Colecciones heredadas: puede haber duplicados anteriores a los índices únicos */
+    static final List<Class<?>> LEGACY_ENTITIES = List.of(Student.class, Actor.class, User.class, Role.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoMappingContext mappingContext;
+
+    public MongoIndexInitializer(MongoTemplate mongoTemplate, MongoMappingContext mappingContext) {
+        this.mongoTemplate = mongoTemplate;
+        this.mappingContext = mappingContext;
+    }
+
+    @PostConstruct
+    void createIndexes() {
+        IndexResolver resolver = IndexResolver.create(mappingContext);
+
+        for (IndexDefinition index : resolver.resolveIndexFor(Identity.class)) {
+            mongoTemplate.indexOps(Identity.class).ensureIndex(index);
+        }
+
+        int skipped = 0;
+        for (Class<?> type : LEGACY_ENTITIES) {
+            IndexOperations indexOps = mongoTemplate.indexOps(type);
+            for (IndexDefinition index : resolver.resolveIndexFor(type)) {
+                try {
+                    indexOps.ensureIndex(index);
+                } catch (DuplicateKeyException e) {
+                    skipped++;
+                    log.error("Index {} on collection {} not created: existing documents have duplicate values. "
+                                    + "Remove the duplicates and restart to build it. Cause: {}",
+                            index.getIndexKeys().keySet(), mongoTemplate.getCollectionName(type), e.getMessage());
+                }
+            }
+        }
+
+        if (skipped > 0) {
+            log.warn("{} MongoDB indexes were skipped because of duplicate data", skipped);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.unibague.gradework.orionuser.configuration;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.core.IntervalFunction;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.ConnectTimeoutException;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.net.ConnectException;
+import java.net.UnknownHostException;
+
+/**
+ * Circuit breaker and retry for Program Service calls
+ * Built from the retry and circuit breaker settings in ServiceProperties.
+ * 4xx responses are the caller's problem: they are neither retried nor counted as failures.
+ * Only connection failures and 5xx responses are retried. A read timeout has already used up
+ * read-timeout, so retrying it would multiply the worst-case latency of a lookup.
+ */
+@Slf4j
+@Configuration
+public class ResilienceConfig {
+
+    public static final String PROGRAM_SERVICE = "programService";
+
+    private static final double RETRY_BACKOFF_MULTIPLIER = 2.0;
+    private static final double RETRY_JITTER_FACTOR = 0.5;
+
+    private final ServiceProperties serviceProperties;
+
+    public ResilienceConfig(ServiceProperties serviceProperties) {
+        this.serviceProperties = serviceProperties;
+    }
+
+    /**
+     * Creates the Program Service circuit breaker
+     * @return circuit breaker that fails fast while the Program Service is unhealthy
+     */
+    @Bean
+    public CircuitBreaker programServiceCircuitBreaker() {
+        log.info("Configuring Program Service circuit breaker with failure rate threshold: {}%, minimum calls: {}, open wait: {}",
+                serviceProperties.getFailureRateThreshold(),
+                serviceProperties.getMinimumNumberOfCalls(),
+                serviceProperties.getWaitDurationInOpenState());
+
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .failureRateThreshold((float) serviceProperties.getFailureRateThreshold())
+                .minimumNumberOfCalls(serviceProperties.getMinimumNumberOfCalls())
+                .slidingWindowSize(Math.max(serviceProperties.getMinimumNumberOfCalls(), 20))
+                .waitDurationInOpenState(serviceProperties.getWaitDurationInOpenState())
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .recordException(e -> !isClientError(e))
+                .build();
+
+        CircuitBreaker circuitBreaker = CircuitBreaker.of(PROGRAM_SERVICE, config);
+        circuitBreaker.getEventPublisher()
+                .onStateTransition(event -> log.warn("Program Service circuit breaker: {}", event.getStateTransition()));
+        return circuitBreaker;
+    }
+
+    /**
+     * Creates the Program Service retry with exponential, jittered backoff
+     * @return retry that makes up to max-retries extra attempts starting at retry-delay,
+     *         for connection failures and 5xx responses only
+     */
+    @Bean
+    public Retry programServiceRetry() {
+        log.info("Configuring Program Service retry with max retries: {} and base delay: {}",
+                serviceProperties.getMaxRetries(),
+                serviceProperties.getRetryDelay());
+
+        RetryConfig config = RetryConfig.custom()
+                .maxAttempts(Math.max(0, serviceProperties.getMaxRetries()) + 1)
+                .intervalFunction(IntervalFunction.ofExponentialRandomBackoff(
+                        serviceProperties.getRetryDelay(), RETRY_BACKOFF_MULTIPLIER, RETRY_JITTER_FACTOR))
+                .retryOnException(ResilienceConfig::isRetryable)
+                .build();
+
+        return Retry.of(PROGRAM_SERVICE, config);
+    }
+
+    /** 5xx o fallo al conectar; read timeouts, 4xx y circuito abierto no se reintentan */
+    static boolean isRetryable(Throwable e) {
+        if (e instanceof HttpServerErrorException) {
+            return true;
+        }
+        if (e instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError();
+        }
+        if (e instanceof ResourceAccessException || e instanceof WebClientRequestException) {
+            return isConnectFailure(e.getCause());
+        }
+        return false;
+    }
+
+    private static boolean isConnectFailure(Throwable cause) {
+        return cause instanceof ConnectException
+                || cause instanceof ConnectTimeoutException
+                || cause instanceof UnknownHostException;
+    }
+
+    private static boolean isClientError(Throwable e) {
+        return e instanceof HttpClientErrorException
+                || (e instanceof WebClientResponseException response && response.getStatusCode().is4xxClientError());
+    }
+}
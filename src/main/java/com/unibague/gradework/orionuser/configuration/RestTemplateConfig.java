@@ -1,14 +1,27 @@
 package com.unibague.gradework.orionuser.configuration;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+
 /**
  * Configuration for RestTemplate with externalized timeouts and error handling
- * Provides configured HTTP client for external service calls
+ * Provides a pooled, keep-alive HTTP client for external service calls
  */
 @Slf4j
 @Configuration
@@ -21,18 +34,80 @@ public class RestTemplateConfig {
     }
 
     /**
-     * Creates RestTemplate with configured timeouts and error handling
+     * Creates the shared connection pool and publishes its leased/pending/available gauges
+     * @return pooled connection manager bean
+     */
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager httpConnectionManager(MeterRegistry meterRegistry) {
+        log.info("Configuring HTTP connection pool with max connections: {}, per route: {}",
+                serviceProperties.getMaxConnections(),
+                serviceProperties.getMaxConnectionsPerRoute());
+
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(serviceProperties.getMaxConnections())
+                .setMaxConnPerRoute(serviceProperties.getMaxConnectionsPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(timeout(serviceProperties.getConnectionTimeout()))
+                        .setSocketTimeout(timeout(serviceProperties.getReadTimeout()))
+                        .build())
+                .build();
+
+        Gauge.builder("orion.http.client.pool.leased", connectionManager, m -> m.getTotalStats().getLeased())
+                .description("HTTP connections currently leased from the pool")
+                .register(meterRegistry);
+        Gauge.builder("orion.http.client.pool.pending", connectionManager, m -> m.getTotalStats().getPending())
+                .description("Requests waiting for a pooled HTTP connection")
+                .register(meterRegistry);
+        Gauge.builder("orion.http.client.pool.available", connectionManager, m -> m.getTotalStats().getAvailable())
+                .description("Idle HTTP connections available in the pool")
+                .register(meterRegistry);
+        Gauge.builder("orion.http.client.pool.max", connectionManager, m -> m.getTotalStats().getMax())
+                .description("Maximum HTTP connections allowed by the pool")
+                .register(meterRegistry);
+
+        return connectionManager;
+    }
+
+    /**
+     * Creates the HTTP client with idle eviction and keep-alive on top of the shared pool
+     * @return pooled HTTP client bean
+     */
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient httpClient(PoolingHttpClientConnectionManager httpConnectionManager) {
+        log.info("Configuring HTTP client with keep-alive: {} and idle eviction: {}",
+                serviceProperties.getKeepAlive(),
+                serviceProperties.getIdleConnectionEviction());
+
+        return HttpClients.custom()
+                .setConnectionManager(httpConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        // Esperar un slot del pool no debe exceder el timeout de conexión
+                        .setConnectionRequestTimeout(timeout(serviceProperties.getConnectionTimeout()))
+                        .setResponseTimeout(timeout(serviceProperties.getReadTimeout()))
+                        // Usado cuando el servidor no envía header Keep-Alive
+                        .setConnectionKeepAlive(TimeValue.ofMilliseconds(serviceProperties.getKeepAlive().toMillis()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(serviceProperties.getIdleConnectionEviction().toMillis()))
+                .build();
+    }
+
+    /**
+     * Creates RestTemplate backed by the pooled HTTP client
      * @return configured RestTemplate bean
      */
     @Bean
-    public RestTemplate restTemplate(RestTemplateBuilder builder) {
+    public RestTemplate restTemplate(RestTemplateBuilder builder, CloseableHttpClient httpClient) {
         log.info("Configuring RestTemplate with connection timeout: {} and read timeout: {}",
                 serviceProperties.getConnectionTimeout(),
                 serviceProperties.getReadTimeout());
 
         return builder
-                .setConnectTimeout(serviceProperties.getConnectionTimeout())
-                .setReadTimeout(serviceProperties.getReadTimeout())
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(httpClient))
                 .build();
     }
-}
\ No newline at end of file
+
+    private static Timeout timeout(Duration duration) {
+        return Timeout.ofMilliseconds(duration.toMillis());
+    }
+}
@@ -1,9 +1,10 @@
 // src/main/java/com/unibague/gradework/orionuser/security/SecurityConfig.java
 package com.unibague.gradework.orionuser.configuration;
 
-import com.unibague.gradework.orionuser.security.InternalServiceAuthenticationFilter;
+import com.unibague.gradework.orionuser.security.RequestAuthenticationFilter;
 import com.unibague.gradework.orionuser.security.ServiceAuthProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.Customizer;
@@ -15,10 +16,19 @@ import org.springframework.security.web.authentication.AnonymousAuthenticationFi
 @EnableConfigurationProperties(ServiceAuthProperties.class)
 public class SecurityConfig {
 
-  private final InternalServiceAuthenticationFilter internalFilter;
+  private final RequestAuthenticationFilter requestAuthenticationFilter;
 
-  public SecurityConfig(InternalServiceAuthenticationFilter internalFilter) {
-    this.internalFilter = internalFilter;
+  public SecurityConfig(RequestAuthenticationFilter requestAuthenticationFilter) {
+    this.requestAuthenticationFilter = requestAuthenticationFilter;
+  }
+
+  // El filtro solo corre dentro de la cadena de Spring Security; sin esto Boot lo registra otra vez como filtro de servlet
+  @Bean
+  FilterRegistrationBean<RequestAuthenticationFilter> requestAuthenticationFilterRegistration() {
+    FilterRegistrationBean<RequestAuthenticationFilter> registration =
+        new FilterRegistrationBean<>(requestAuthenticationFilter);
+    registration.setEnabled(false);
+    return registration;
   }
 
   @Bean
@@ -36,7 +46,8 @@ public class SecurityConfig {
       .httpBasic(Customizer.withDefaults());
 
     // muy importante: registrar el filtro ANTES del AnonymousAuthenticationFilter
-    http.addFilterBefore(internalFilter, AnonymousAuthenticationFilter.class);
+    // (único filtro propio: gateway, S2S y UserContext en una sola pasada)
+    http.addFilterBefore(requestAuthenticationFilter, AnonymousAuthenticationFilter.class);
 
     return http.build();
   }
@@ -26,12 +26,33 @@ public class ServiceProperties {
     @Pattern(regexp = "^https?://.*", message = "Program service URL must be a valid HTTP/HTTPS URL")
     private String programServiceUrl = "http://localhost:8093/service/program";
 
+    /**
+     * Program Service client implementation: "rest" (blocking RestTemplate) or "webclient" (reactive fan-out)
+     */
+    @Pattern(regexp = "^(rest|webclient)$", message = "Program client must be 'rest' or 'webclient'")
+    private String programClient = "rest";
+
+    /**
+     * Reactive client configuration
+     * Max concurrent Program Service requests per lookup and overall timeout for one lookup
+     */
+    private int maxConcurrency = 8;
+    private Duration requestTimeout = Duration.ofSeconds(5);
+
     /**
      * HTTP timeout configuration
      */
     private Duration connectionTimeout = Duration.ofSeconds(5);
     private Duration readTimeout = Duration.ofSeconds(10);
 
+    /**
+     * HTTP connection pool configuration (RestTemplate)
+     */
+    private int maxConnections = 100;
+    private int maxConnectionsPerRoute = 50;
+    private Duration idleConnectionEviction = Duration.ofSeconds(30);
+    private Duration keepAlive = Duration.ofMinutes(1);
+
     /**
      * Retry configuration
      */
@@ -45,12 +66,58 @@ public class ServiceProperties {
     private int minimumNumberOfCalls = 5;
     private Duration waitDurationInOpenState = Duration.ofSeconds(30);
 
+    /**
+     * Batch configuration
+     * Maximum number of program IDs sent in a single bulk request to the Program Service
+     */
+    private int programBatchSize = 100;
+
+    /**
+     * How long single lookups are used after the bulk endpoint answers 404/405 before it is probed again
+     */
+    private Duration bulkEndpointRecheckInterval = Duration.ofMinutes(5);
+
     /**
      * Cache configuration
      */
     private boolean cacheEnabled = false;
     private Duration cacheTtl = Duration.ofMinutes(5);
     private int cacheMaxSize = 100;
+    private Duration cacheStaleTtl = Duration.ofHours(1);
+    private Duration cacheNegativeTtl = Duration.ofMinutes(1);
+
+    /**
+     * Preload the whole program catalog into the cache before the service reports ready
+     */
+    private boolean cacheWarmupEnabled = false;
+
+    /**
+     * User storage layout: "split" (students / actors collections) or "unified" (single users collection)
+     */
+    @Pattern(regexp = "split|unified", message = "storage-mode must be 'split' or 'unified'")
+    private String storageMode = "split";
+
+    /**
+     * Maximum age of the in-memory roles (role snapshot and User.role reference cache)
+     */
+    private Duration roleCacheTtl = Duration.ofMinutes(10);
+
+    /**
+     * Register pre-existing users in the identity registry at startup
+     */
+    private boolean identityBackfillEnabled = true;
+
+    /**
+     * Bulk import: maximum rows per request
+     */
+    private int importMaxRows = 5000;
+
+    /**
+     * Password hashing pool: threads (0 = available processors) and pending requests
+     * accepted before new ones are rejected with 503
+     */
+    private int passwordHashThreads = 0;
+    private int passwordHashQueueCapacity = 64;
 
     /**
      * Email validation configuration
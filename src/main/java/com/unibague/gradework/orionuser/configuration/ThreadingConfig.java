@@ -0,0 +1,31 @@
+package com.unibague.gradework.orionuser.configuration;
+
+import com.unibague.gradework.orionuser.security.UserContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Request execution mode
+ * With spring.threads.virtual.enabled=true Spring Boot runs Tomcat requests and the application
+ * task executor (async MVC, StreamingResponseBody) on virtual threads; ProgramService and
+ * ProgramCache switch their fan-out/refresh threads too. Password hashing always stays on the
+ * platform-thread PasswordHasher pool because BCrypt is CPU-bound.
+ */
+@Slf4j
+@Configuration
+public class ThreadingConfig {
+
+    /**
+     * Propagates the caller's UserContext into tasks of the application task executor
+     * Spring Boot applies a single TaskDecorator bean to the executors it auto-configures.
+     */
+    @Bean
+    public TaskDecorator userContextTaskDecorator(Environment environment) {
+        log.info("Request execution on {} threads", Threading.VIRTUAL.isActive(environment) ? "virtual" : "platform");
+        return UserContext::wrap;
+    }
+}
@@ -0,0 +1,47 @@
+package com.unibague.gradework.orionuser.configuration;
+
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+
+/**
+ * Configuration for the reactive Program Service client
+ * Only active when orion.services.program-client=webclient
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "orion.services", name = "program-client", havingValue = "webclient")
+public class WebClientConfig {
+
+    private final ServiceProperties serviceProperties;
+
+    public WebClientConfig(ServiceProperties serviceProperties) {
+        this.serviceProperties = serviceProperties;
+    }
+
+    /**
+     * Creates WebClient bound to the Program Service URL with configured timeouts
+     * @return configured WebClient bean
+     */
+    @Bean
+    public WebClient programWebClient(WebClient.Builder builder) {
+        log.info("Configuring Program WebClient with connection timeout: {}, read timeout: {}, max concurrency: {}",
+                serviceProperties.getConnectionTimeout(),
+                serviceProperties.getReadTimeout(),
+                serviceProperties.getMaxConcurrency());
+
+        HttpClient httpClient = HttpClient.create()
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) serviceProperties.getConnectionTimeout().toMillis())
+                .responseTimeout(serviceProperties.getReadTimeout());
+
+        return builder
+                .baseUrl(serviceProperties.getProgramServiceUrl())
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+}
@@ -0,0 +1,87 @@
+package com.unibague.gradework.orionuser.controller;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.unibague.gradework.orionuser.security.UserContext;
+import com.unibague.gradework.orionuser.service.IProgramService;
+import com.unibague.gradework.orionuser.service.ProgramCache;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Administración del cache de programas.
+ * - POST /refresh recarga el catálogo completo desde el Program Service
+ * - DELETE /{programId} invalida un programa (p. ej. tras un cambio de nombre)
+ * Solo administradores o llamadas internas S2S.
+ */
+@Slf4j
+@RestController
+@RequestMapping({"/api/programs/cache", "/service/programs/cache"})
+public class ProgramCacheController {
+
+    @Autowired
+    private IProgramService programService;
+
+    @Autowired
+    private ProgramCache programCache;
+
+    private boolean isInternal(HttpServletRequest request) {
+        String internal = request.getHeader("X-Internal-Request");
+        String s2s = request.getHeader("X-Service-Request");
+        return "true".equalsIgnoreCase(internal) || "true".equalsIgnoreCase(s2s);
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refreshCatalog(HttpServletRequest request) {
+        try {
+            if (!isInternal(request)) {
+                UserContext.requireAdmin();
+            }
+            int loaded = programService.refreshCatalog();
+            return ResponseEntity.ok(Map.of("refreshed", loaded));
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("error", "ADMIN_REQUIRED", "message", "Only administrators can refresh the program cache"));
+        }
+    }
+
+    @DeleteMapping("/{programId}")
+    public ResponseEntity<?> evictProgram(@PathVariable String programId, HttpServletRequest request) {
+        try {
+            if (!isInternal(request)) {
+                UserContext.requireAdmin();
+            }
+            programService.evictPrograms(List.of(programId));
+            return ResponseEntity.noContent().build();
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("error", "ADMIN_REQUIRED", "message", "Only administrators can invalidate the program cache"));
+        }
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<?> getStats(HttpServletRequest request) {
+        try {
+            if (!isInternal(request)) {
+                UserContext.requireAdmin();
+            }
+            CacheStats stats = programCache.stats();
+            return ResponseEntity.ok(Map.of(
+                    "enabled", programCache.isEnabled(),
+                    "size", programCache.estimatedSize(),
+                    "hits", stats.hitCount(),
+                    "misses", stats.missCount(),
+                    "evictions", stats.evictionCount(),
+                    "hitRate", stats.hitRate()));
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("error", "ADMIN_REQUIRED", "message", "Only administrators can read program cache stats"));
+        }
+    }
+}
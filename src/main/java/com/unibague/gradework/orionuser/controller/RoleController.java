@@ -1,6 +1,9 @@
 package com.unibague.gradework.orionuser.controller;
 
+import com.unibague.gradework.orionuser.model.AuthorizationDecision;
+import com.unibague.gradework.orionuser.model.AuthorizationQuery;
 import com.unibague.gradework.orionuser.model.Role;
+import com.unibague.gradework.orionuser.service.IAuthorizationService;
 import com.unibague.gradework.orionuser.service.IRoleService;
 import com.unibague.gradework.orionuser.security.UserContext;
 import jakarta.servlet.http.HttpServletRequest;
@@ -30,6 +33,11 @@ public class RoleController {
     @Autowired
     private IRoleService roleService;
 
+    @Autowired
+    private IAuthorizationService authorizationService;
+
+    private static final int MAX_AUTHORIZATION_QUERIES = 500;
+
     /* ===================== Helpers ===================== */
 
     private boolean isInternal(HttpServletRequest request) {
@@ -177,6 +185,56 @@ public class RoleController {
         }
     }
 
+    /**
+     * Permission check used by other services on almost every request
+     * Answered from the in-memory role snapshot, never from Mongo.
+     */
+    @GetMapping("/{roleId}/permissions/{permission}")
+    public ResponseEntity<?> hasPermission(@PathVariable String roleId,
+                                           @PathVariable String permission,
+                                           HttpServletRequest request) {
+        try {
+            if (!isInternal(request)) {
+                UserContext.AuthenticatedUser user = UserContext.requireAuthentication();
+                requireCoordinatorOrAdmin(user);
+            }
+            boolean granted = roleService.hasPermission(roleId, permission);
+            return ResponseEntity.ok(Map.of("roleId", roleId, "permission", permission, "granted", granted));
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("error", "AUTHENTICATION_REQUIRED", "message", e.getMessage()));
+        }
+    }
+
+    /**
+     * Batch de decisiones de autorización (gateway y servicios hermanos)
+     * Body: [{"roleId"|"userId", "permission", "programId"?}, ...] (máx. 500)
+     * Responde una decisión por pregunta, en el mismo orden, en una sola llamada.
+     */
+    @PostMapping("/authorizations")
+    public ResponseEntity<?> authorize(@RequestBody List<AuthorizationQuery> queries, HttpServletRequest request) {
+        try {
+            if (!isInternal(request)) {
+                UserContext.AuthenticatedUser user = UserContext.requireAuthentication();
+                requireCoordinatorOrAdmin(user);
+            }
+            if (queries == null || queries.isEmpty()) {
+                return ResponseEntity.badRequest()
+                        .body(Map.of("error", "VALIDATION_ERROR", "message", "At least one query is required"));
+            }
+            if (queries.size() > MAX_AUTHORIZATION_QUERIES) {
+                return ResponseEntity.badRequest()
+                        .body(Map.of("error", "VALIDATION_ERROR",
+                                "message", "At most " + MAX_AUTHORIZATION_QUERIES + " queries per request"));
+            }
+            List<AuthorizationDecision> decisions = authorizationService.decide(queries);
+            return ResponseEntity.ok(decisions);
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("error", "AUTHENTICATION_REQUIRED", "message", e.getMessage()));
+        }
+    }
+
     @PostMapping("/{roleId}/permissions")
     public ResponseEntity<?> addPermissionToRole(@PathVariable String roleId,
                                                  @RequestBody Map<String, String> requestBody,
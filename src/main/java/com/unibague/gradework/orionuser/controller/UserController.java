@@ -1,5 +1,9 @@
 package com.unibague.gradework.orionuser.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unibague.gradework.orionuser.configuration.ServiceProperties;
 import com.unibague.gradework.orionuser.model.*;
 import com.unibague.gradework.orionuser.service.*;
 import com.unibague.gradework.orionuser.security.UserContext;
@@ -7,12 +11,21 @@ import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
 
 /**
  * Enhanced UserController with authentication and authorization
@@ -25,6 +38,12 @@ public class UserController {
 
     @Autowired private IUserService userService;
     @Autowired private IRoleService roleService;
+    @Autowired private IUserImportService userImportService;
+    @Autowired private ServiceProperties serviceProperties;
+    @Autowired private ObjectMapper objectMapper;
+
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 500;
 
     // Helper para detectar llamadas internas S2S desde el gateway/orion-auth
     private boolean isInternal(HttpServletRequest req) {
@@ -131,20 +150,125 @@ public class UserController {
         }
     }
 
+    // ==========================================
+    // BULK IMPORT
+    // ==========================================
+
+    /**
+     * Creates many students in one request
+     * Body: a JSON array of students or NDJSON (one student per line), up to orion.services.import-max-rows.
+     * Invalid and duplicate rows are reported in the response instead of failing the whole batch.
+     * SECURITY: same rules as POST /student
+     */
+    @PostMapping("/students/import")
+    public ResponseEntity<?> importStudents(HttpServletRequest req) {
+        try {
+            ResponseEntity<?> denied = checkImportAccess(req, "students");
+            if (denied != null) {
+                return denied;
+            }
+
+            List<Student> students = readRows(req, Student.class);
+            ImportReport report = userImportService.importStudents(students);
+            return ResponseEntity.ok(report);
+
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("error", "AUTHENTICATION_REQUIRED", "message", e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", "VALIDATION_ERROR", "message", e.getMessage()));
+        }
+    }
+
+    /**
+     * Creates many actors in one request
+     * Body: a JSON array of actors or NDJSON (one actor per line), up to orion.services.import-max-rows.
+     * SECURITY: same rules as POST /actor
+     */
+    @PostMapping("/actors/import")
+    public ResponseEntity<?> importActors(HttpServletRequest req) {
+        try {
+            ResponseEntity<?> denied = checkImportAccess(req, "actors");
+            if (denied != null) {
+                return denied;
+            }
+
+            List<Actor> actors = readRows(req, Actor.class);
+            ImportReport report = userImportService.importActors(actors);
+            return ResponseEntity.ok(report);
+
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(Map.of("error", "AUTHENTICATION_REQUIRED", "message", e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", "VALIDATION_ERROR", "message", e.getMessage()));
+        }
+    }
+
+    /** S2S permitido; usuarios humanos solo COORDINATOR o ADMIN. Devuelve null si tiene acceso */
+    private ResponseEntity<?> checkImportAccess(HttpServletRequest req, String target) {
+        if (isInternal(req)) {
+            log.info("Importing {} (S2S)", target);
+            return null;
+        }
+
+        UserContext.AuthenticatedUser currentUser = UserContext.requireAuthentication();
+        if (!currentUser.isCoordinator() && !currentUser.isAdmin()) {
+            log.warn("UNAUTHORIZED: User {} ({}) attempted to import {}",
+                    currentUser.getUserId(), currentUser.getRole(), target);
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of(
+                            "error", "INSUFFICIENT_PERMISSIONS",
+                            "message", "Only coordinators and administrators can import " + target
+                    ));
+        }
+        log.info("Importing {} (user flow) by user: {} ({})",
+                target, currentUser.getUserId(), currentUser.getRole());
+        return null;
+    }
+
+    /**
+     * Reads the request body row by row; MappingIterator accepts both a JSON array and NDJSON
+     * Stops as soon as the row limit is exceeded so an oversized body is never fully buffered
+     */
+    private <T> List<T> readRows(HttpServletRequest req, Class<T> type) {
+        int maxRows = serviceProperties.getImportMaxRows();
+        List<T> rows = new ArrayList<>();
+        try (MappingIterator<T> iterator = objectMapper.readerFor(type).readValues(req.getInputStream())) {
+            while (iterator.hasNextValue()) {
+                if (rows.size() == maxRows) {
+                    throw new IllegalArgumentException("Import exceeds the maximum of " + maxRows + " rows");
+                }
+                rows.add(iterator.nextValue());
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed import body: " + e.getMessage(), e);
+        }
+        if (rows.isEmpty()) {
+            throw new IllegalArgumentException("Import body contains no rows");
+        }
+        return rows;
+    }
+
     // ==========================================
     // USER LISTING (with filtering)
     // ==========================================
 
     /**
-     * Retrieves all students with role-based filtering
+     * Retrieves students with role-based filtering
+     * Without "limit" and "after" the full list is returned (legacy behaviour); with either of
+     * them the response is a keyset-paginated page: {"items": [...], "nextCursor": "..."}
      * SECURITY:
      * - ADMINS: See all students
-     * - COORDINATORS: See students in their programs
+     * - COORDINATORS: See all students (every program, see UserContext.hasAccessToProgram)
      * - TEACHERS: See students in their programs
      * - STUDENTS: Forbidden
      */
     @GetMapping("/students")
-    public ResponseEntity<?> getAllStudentsDTO() {
+    public ResponseEntity<?> getAllStudentsDTO(@RequestParam(required = false) Integer limit,
+                                               @RequestParam(required = false) String after) {
         try {
             UserContext.AuthenticatedUser currentUser = UserContext.requireAuthentication();
 
@@ -159,31 +283,35 @@ public class UserController {
             log.debug("Retrieving students for user: {} ({})",
                     currentUser.getUserId(), currentUser.getRole());
 
-            List<StudentDTO> students = userService.getAllStudentsDTO();
-
-            if (!currentUser.isAdmin()) {
-                students = students.stream()
-                        .filter(student -> student.getPrograms().stream()
-                                .anyMatch(program -> currentUser.hasAccessToProgram(program.getProgramId())))
-                        .toList();
-
-                log.debug("Filtered to {} students for user access", students.size());
+            if (limit != null || after != null) {
+                Set<String> scope = programScope(currentUser);
+                return ResponseEntity.ok(visiblePage(currentUser, after, pageSize(limit),
+                        (cursor, size) -> userService.getStudentsDTOPage(cursor, size, scope)));
             }
 
+            Set<String> scope = programScope(currentUser);
+            List<StudentDTO> students = visibleTo(currentUser, scope == null
+                    ? userService.getAllStudentsDTO()
+                    : userService.getStudentsDTOInPrograms(scope));
             return ResponseEntity.ok(students);
 
         } catch (SecurityException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(Map.of("error", "AUTHENTICATION_REQUIRED", "message", e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", "VALIDATION_ERROR", "message", e.getMessage()));
         }
     }
 
     /**
-     * Retrieves all actors with role-based filtering
+     * Retrieves actors with role-based filtering
+     * Supports the same "limit"/"after" pagination as /students
      * SECURITY: Similar to students but more permissive for actors
      */
     @GetMapping("/actors")
-    public ResponseEntity<?> getAllActorsDTO() {
+    public ResponseEntity<?> getAllActorsDTO(@RequestParam(required = false) Integer limit,
+                                             @RequestParam(required = false) String after) {
         try {
             UserContext.AuthenticatedUser currentUser = UserContext.requireAuthentication();
 
@@ -198,23 +326,173 @@ public class UserController {
             log.debug("Retrieving actors for user: {} ({})",
                     currentUser.getUserId(), currentUser.getRole());
 
-            List<ActorDTO> actors = userService.getAllActorsDTO();
-
-            if (!currentUser.isAdmin()) {
-                actors = actors.stream()
-                        .filter(actor -> actor.getPrograms().stream()
-                                .anyMatch(program -> currentUser.hasAccessToProgram(program.getProgramId())))
-                        .toList();
+            if (limit != null || after != null) {
+                return ResponseEntity.ok(visiblePage(currentUser, after, pageSize(limit), userService::getActorsDTOPage));
             }
 
+            // Solo coordinadores y admins llegan aquí: la consulta no filtra por programa y
+            // visibleTo solo descarta, para coordinadores, los actores sin programas (como antes)
+            List<ActorDTO> actors = visibleTo(currentUser, userService.getAllActorsDTO());
             return ResponseEntity.ok(actors);
 
         } catch (SecurityException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(Map.of("error", "AUTHENTICATION_REQUIRED", "message", e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", "VALIDATION_ERROR", "message", e.getMessage()));
         }
     }
 
+    /**
+     * Streams all visible students as NDJSON (one JSON object per line)
+     * Heap use stays flat regardless of collection size; intended for reporting jobs.
+     * SECURITY: same rules as GET /students
+     */
+    @GetMapping("/students/export")
+    public ResponseEntity<StreamingResponseBody> exportStudents() {
+        try {
+            UserContext.AuthenticatedUser currentUser = UserContext.requireAuthentication();
+
+            if (currentUser.isStudent()) {
+                return errorBody(HttpStatus.FORBIDDEN,
+                        "INSUFFICIENT_PERMISSIONS", "Students cannot view student lists");
+            }
+
+            log.info("Student export requested by user: {} ({})", currentUser.getUserId(), currentUser.getRole());
+
+            // El cuerpo se escribe en otro hilo: el usuario y su alcance se capturan aquí
+            Set<String> scope = programScope(currentUser);
+            StreamingResponseBody body = out -> writeNdjson(out,
+                    sink -> userService.exportStudentsDTO(scope, student -> {
+                        if (isVisibleTo(currentUser, student)) {
+                            sink.accept(student);
+                        }
+                    }));
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+
+        } catch (SecurityException e) {
+            return errorBody(HttpStatus.UNAUTHORIZED, "AUTHENTICATION_REQUIRED", e.getMessage());
+        }
+    }
+
+    /**
+     * Streams all visible actors as NDJSON (one JSON object per line)
+     * SECURITY: same rules as GET /actors
+     */
+    @GetMapping("/actors/export")
+    public ResponseEntity<StreamingResponseBody> exportActors() {
+        try {
+            UserContext.AuthenticatedUser currentUser = UserContext.requireAuthentication();
+
+            if (!currentUser.isCoordinator() && !currentUser.isAdmin()) {
+                return errorBody(HttpStatus.FORBIDDEN,
+                        "INSUFFICIENT_PERMISSIONS", "Only coordinators and administrators can view actor lists");
+            }
+
+            log.info("Actor export requested by user: {} ({})", currentUser.getUserId(), currentUser.getRole());
+
+            StreamingResponseBody body = out -> writeNdjson(out,
+                    sink -> userService.exportActorsDTO(actor -> {
+                        if (isVisibleTo(currentUser, actor)) {
+                            sink.accept(actor);
+                        }
+                    }));
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+
+        } catch (SecurityException e) {
+            return errorBody(HttpStatus.UNAUTHORIZED, "AUTHENTICATION_REQUIRED", e.getMessage());
+        }
+    }
+
+    /** Mismo formato de error que el resto de endpoints, con el tipo de retorno del streaming */
+    private ResponseEntity<StreamingResponseBody> errorBody(HttpStatus status, String error, String message) {
+        Map<String, String> body = Map.of("error", error, "message", message);
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> objectMapper.writeValue(out, body));
+    }
+
+    /** Escribe cada registro con el generador de Jackson directamente sobre la respuesta */
+    private <T> void writeNdjson(OutputStream out, Consumer<Consumer<T>> producer)
+            throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            producer.accept(item -> {
+                try {
+                    generator.writeObject(item);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static int pageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return limit;
+    }
+
+    /**
+     * Programas a los que se restringe la consulta de estudiantes en MongoDB; null = sin restricción
+     * Solo se restringen los roles que hasAccessToProgram limita: admins y coordinadores
+     * tienen acceso a todos los programas, el resto solo a los de X-User-Programs.
+     */
+    private static Set<String> programScope(UserContext.AuthenticatedUser currentUser) {
+        if (currentUser.isAdmin() || currentUser.isCoordinator()) {
+            return null;
+        }
+        return currentUser.getProgramIds();
+    }
+
+    /**
+     * Llena una página con usuarios visibles, pidiendo páginas siguientes si visibleTo descarta filas
+     * nextCursor se calcula sobre lo devuelto: una página no vuelve corta anunciando más resultados.
+     */
+    private static <T extends UserDTO> CursorPage<T> visiblePage(UserContext.AuthenticatedUser currentUser,
+                                                                 String after, int limit,
+                                                                 BiFunction<String, Integer, CursorPage<T>> fetch) {
+        List<T> items = new ArrayList<>(limit);
+        String cursor = after;
+        while (true) {
+            CursorPage<T> page = fetch.apply(cursor, limit - items.size());
+            List<T> visible = visibleTo(currentUser, page.getItems());
+            items.addAll(visible);
+            if (page.getNextCursor() == null) {
+                return new CursorPage<>(items, null);
+            }
+            if (items.size() >= limit) {
+                return new CursorPage<>(items, page.getNextCursor());
+            }
+            cursor = page.getNextCursor();
+        }
+    }
+
+    /** Admins ven todo; el resto solo usuarios de sus programas */
+    private static <T extends UserDTO> List<T> visibleTo(UserContext.AuthenticatedUser currentUser, List<T> users) {
+        if (currentUser.isAdmin()) {
+            return users;
+        }
+        List<T> visible = users.stream()
+                .filter(user -> isVisibleTo(currentUser, user))
+                .toList();
+        log.debug("Filtered to {} of {} users for user access", visible.size(), users.size());
+        return visible;
+    }
+
+    private static boolean isVisibleTo(UserContext.AuthenticatedUser currentUser, UserDTO user) {
+        return currentUser.isAdmin() || user.getPrograms().stream()
+                .anyMatch(program -> currentUser.hasAccessToProgram(program.getProgramId()));
+    }
+
     // ==========================================
     // INDIVIDUAL USER ACCESS
     // ==========================================
@@ -364,9 +642,7 @@ public class UserController {
 
             log.debug("Programs for user {} requested by: {}", userId, currentUser.getUserId());
 
-            Optional<? extends User> userOpt = userService.getStudentById(userId)
-                    .map(s -> (User) s)
-                    .or(() -> userService.getActorById(userId).map(a -> (User) a));
+            Optional<User> userOpt = userService.getUserById(userId);
 
             return userOpt
                     .map(user -> ResponseEntity.ok(user.getPrograms()))
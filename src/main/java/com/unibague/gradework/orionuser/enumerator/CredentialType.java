@@ -0,0 +1,14 @@
+package com.unibague.gradework.orionuser.enumerator;
+
+/**
+ * How a user authenticates: LOCAL (password hash) or FEDERATED (SSO, no usable password)
+ */
+public enum CredentialType {
+    LOCAL,
+    FEDERATED;
+
+    /**
+     * Stored as the password of federated accounts; it is not a valid hash, so no password ever matches it
+     */
+    public static final String FEDERATED_PASSWORD = "!federated-sso";
+}
@@ -0,0 +1,8 @@
+package com.unibague.gradework.orionuser.enumerator;
+
+public enum ImportStatus {
+    CREATED,
+    INVALID,
+    DUPLICATE,
+    FAILED
+}
@@ -0,0 +1,6 @@
+package com.unibague.gradework.orionuser.enumerator;
+
+public enum UserType {
+    STUDENT,
+    ACTOR
+}
@@ -1,6 +1,7 @@
 package com.unibague.gradework.orionuser.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -82,6 +83,15 @@ public class GlobalExceptionHandler {
         return buildErrorResponse("EXTERNAL_SERVICE_ERROR", ex.getMessage(), request, HttpStatus.SERVICE_UNAVAILABLE);
     }
 
+    @ExceptionHandler(UserExceptions.PasswordHashingUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handlePasswordHashingUnavailable(UserExceptions.PasswordHashingUnavailableException ex, WebRequest request) {
+        log.warn("Password hashing saturated: {}", ex.getMessage());
+        ResponseEntity<ErrorResponse> response = buildErrorResponse("SERVICE_BUSY", ex.getMessage(), request, HttpStatus.SERVICE_UNAVAILABLE);
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response.getBody());
+    }
+
     // Validation exceptions
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ErrorResponse> handleValidationError(IllegalArgumentException ex, WebRequest request) {
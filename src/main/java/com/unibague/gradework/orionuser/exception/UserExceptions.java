@@ -136,4 +136,13 @@ public class UserExceptions {
             super("Error communicating with " + serviceName + ": " + cause.getMessage(), cause);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Exception thrown when the password hashing pool is saturated
+     */
+    public static class PasswordHashingUnavailableException extends RuntimeException {
+        public PasswordHashingUnavailableException() {
+            super("Password processing is temporarily saturated, please retry shortly");
+        }
+    }
+}
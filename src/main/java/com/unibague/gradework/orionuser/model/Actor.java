@@ -2,6 +2,7 @@ package com.unibague.gradework.orionuser.model;
 
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.springframework.data.annotation.TypeAlias;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import jakarta.validation.constraints.NotBlank;
@@ -17,6 +18,7 @@ import jakarta.validation.constraints.Size;
 @EqualsAndHashCode(callSuper = true)
 @SuperBuilder
 @Document(collection = "actors")
+@TypeAlias("actor")
 public class Actor extends User {
 
     @NotBlank(message = "Position is required")
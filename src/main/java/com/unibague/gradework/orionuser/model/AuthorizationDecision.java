@@ -0,0 +1,22 @@
+package com.unibague.gradework.orionuser.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Answer to one AuthorizationQuery, in request order; reason explains a denial
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuthorizationDecision {
+    private String roleId;
+    private String userId;
+    private String permission;
+    private String programId;
+    private boolean allowed;
+    private String reason;
+}
@@ -0,0 +1,22 @@
+package com.unibague.gradework.orionuser.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One question of a batch authorization request
+ * Either roleId or userId is required; with userId the user's own role is used (a roleId sent
+ * alongside it must match that role) and programId, if present, must be one of the user's programs.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuthorizationQuery {
+    private String roleId;
+    private String userId;
+    private String permission;
+    private String programId;
+}
@@ -0,0 +1,34 @@
+package com.unibague.gradework.orionuser.model;
+
+import com.unibague.gradework.orionuser.enumerator.UserType;
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Identity registry entry shared by students and actors
+ * Maps every user ID, email and student ID to the collection holding the user, so uniqueness
+ * across both collections is enforced by one set of unique indexes and lookups are a single hit.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Document(collection = "identities")
+public class Identity {
+
+    /** Same value as User.idUser */
+    @Id
+    private String idUser;
+
+    /** Stored lowercased */
+    @Indexed(unique = true)
+    private String email;
+
+    /** Only set for students */
+    @Indexed(unique = true, sparse = true)
+    private String studentID;
+
+    private UserType type;
+}
@@ -0,0 +1,22 @@
+package com.unibague.gradework.orionuser.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Result of a bulk import: totals plus one entry per request row, in request order
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportReport {
+    private int total;
+    private int created;
+    private int rejected;
+    private List<ImportRowResult> rows;
+}
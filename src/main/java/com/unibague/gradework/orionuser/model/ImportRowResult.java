@@ -0,0 +1,21 @@
+package com.unibague.gradework.orionuser.model;
+
+import com.unibague.gradework.orionuser.enumerator.ImportStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one row of a bulk import; index is the row's position in the request (0-based)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportRowResult {
+    private int index;
+    private String idUser;
+    private ImportStatus status;
+    private String message;
+}
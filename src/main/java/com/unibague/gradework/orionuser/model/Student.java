@@ -5,6 +5,7 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.SuperBuilder;
+import org.springframework.data.annotation.TypeAlias;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
@@ -20,6 +21,7 @@ import jakarta.validation.constraints.*;
 @EqualsAndHashCode(callSuper = true)
 @SuperBuilder
 @Document(collection = "students")
+@TypeAlias("student")
 public class Student extends User {
 
     @NotBlank(message = "Student ID is required")
@@ -1,5 +1,6 @@
 package com.unibague.gradework.orionuser.model;
 
+import com.unibague.gradework.orionuser.enumerator.CredentialType;
 import com.unibague.gradework.orionuser.enumerator.TypeSex;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -48,6 +49,9 @@ public class User {
     @Size(min = 8, message = "Password must be at least 8 characters long")
     private String password;
 
+    /** Null on accounts created before credential types existed (treated as LOCAL) */
+    private CredentialType credentialType;
+
     @NotNull(message = "Role is required")
     @DBRef
     @Indexed
@@ -1,5 +1,6 @@
 package com.unibague.gradework.orionuser.model;
 
+import com.unibague.gradework.orionuser.enumerator.CredentialType;
 import com.unibague.gradework.orionuser.enumerator.TypeSex;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -22,4 +23,5 @@ public class UserLogDTO {
     private Role role;
     private List<ProgramDTO> programs;
     private String password;
+    private CredentialType credentialType;
 }
@@ -1,10 +1,15 @@
 package com.unibague.gradework.orionuser.repository;
 
 import com.unibague.gradework.orionuser.model.Actor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ActorRepository extends MongoRepository<Actor, String> {
@@ -12,4 +17,26 @@ public interface ActorRepository extends MongoRepository<Actor, String> {
     Optional<Actor> findByEmail(String email);
 
     boolean existsByEmail(String email);
+
+    /** Primera página (keyset pagination sobre _id, el orden lo define el Pageable) */
+    List<Actor> findAllBy(Pageable pageable);
+
+    /** Páginas siguientes: solo usuarios con _id mayor que el cursor */
+    List<Actor> findByIdUserGreaterThan(String idUser, Pageable pageable);
+
+    // Filtro por programas ($in sobre el índice multikey de "programs")
+
+    List<Actor> findByProgramsIn(Collection<String> programIds);
+
+    List<Actor> findByProgramsIn(Collection<String> programIds, Pageable pageable);
+
+    List<Actor> findByProgramsInAndIdUserGreaterThan(Collection<String> programIds, String idUser, Pageable pageable);
+
+    // Exportación: cursor de Mongo, hay que cerrar el Stream (try-with-resources)
+
+    @Meta(cursorBatchSize = 500)
+    Stream<Actor> streamAllBy();
+
+    @Meta(cursorBatchSize = 500)
+    Stream<Actor> streamByProgramsIn(Collection<String> programIds);
 }
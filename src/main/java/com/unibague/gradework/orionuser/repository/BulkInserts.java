@@ -0,0 +1,37 @@
+package com.unibague.gradework.orionuser.repository;
+
+import com.mongodb.bulk.BulkWriteError;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unordered bulk insert helper: every document is attempted even if others fail
+ */
+public final class BulkInserts {
+
+    private BulkInserts() {
+    }
+
+    /**
+     * @return error message per failed document, keyed by its position in documents
+     */
+    public static Map<Integer, String> insertUnordered(BulkOperations operations, List<?> documents) {
+        if (documents.isEmpty()) {
+            return Map.of();
+        }
+        try {
+            operations.insert(documents).execute();
+            return Map.of();
+        } catch (BulkOperationException e) {
+            Map<Integer, String> failures = new HashMap<>();
+            for (BulkWriteError error : e.getErrors()) {
+                failures.put(error.getIndex(), error.getMessage());
+            }
+            return failures;
+        }
+    }
+}
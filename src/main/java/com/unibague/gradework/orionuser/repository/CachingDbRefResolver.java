@@ -0,0 +1,30 @@
+package com.unibague.gradework.orionuser.repository;
+
+import com.mongodb.DBRef;
+import org.bson.Document;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.DefaultDbRefResolver;
+
+/**
+ * DbRefResolver that serves references to the "roles" collection from RoleReferenceCache
+ * Every other reference is fetched as usual.
+ */
+public class CachingDbRefResolver extends DefaultDbRefResolver {
+
+    private static final String ROLES_COLLECTION = "roles";
+
+    private final RoleReferenceCache roleReferenceCache;
+
+    public CachingDbRefResolver(MongoDatabaseFactory mongoDbFactory, RoleReferenceCache roleReferenceCache) {
+        super(mongoDbFactory);
+        this.roleReferenceCache = roleReferenceCache;
+    }
+
+    @Override
+    public Document fetch(DBRef dbRef) {
+        if (!ROLES_COLLECTION.equals(dbRef.getCollectionName())) {
+            return super.fetch(dbRef);
+        }
+        return roleReferenceCache.get(dbRef.getId(), () -> super.fetch(dbRef));
+    }
+}
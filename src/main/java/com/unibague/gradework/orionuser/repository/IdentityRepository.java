@@ -0,0 +1,19 @@
+package com.unibague.gradework.orionuser.repository;
+
+import com.unibague.gradework.orionuser.model.Identity;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface IdentityRepository extends MongoRepository<Identity, String> {
+
+    boolean existsByEmail(String email);
+
+    /** Detección de duplicados por lotes (importación masiva) en una sola consulta */
+    List<Identity> findByIdUserInOrEmailInOrStudentIDIn(Collection<String> idUsers,
+                                                        Collection<String> emails,
+                                                        Collection<String> studentIDs);
+}
@@ -0,0 +1,88 @@
+package com.unibague.gradework.orionuser.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.unibague.gradework.orionuser.configuration.ServiceProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Raw role documents used to resolve User.role DBRefs without a query per user
+ * Entries live for orion.services.role-cache-ttl; RoleService invalidates them on every write,
+ * the TTL only bounds staleness from writes made by other instances.
+ * Hit/miss counts are published as "cache.*" metrics with cache=roles.
+ * The mapping converter may modify the document it reads, so the cache keeps its own deep copy
+ * and every caller gets a fresh one.
+ */
+@Slf4j
+@Component
+public class RoleReferenceCache {
+
+    public static final String CACHE_NAME = "roles";
+    private static final int MAX_ROLES = 1000;
+
+    private final Cache<String, Document> cache;
+
+    public RoleReferenceCache(ServiceProperties serviceProperties, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(MAX_ROLES)
+                .expireAfterWrite(serviceProperties.getRoleCacheTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        log.info("Role reference cache enabled (ttl: {})", serviceProperties.getRoleCacheTtl());
+    }
+
+    /**
+     * Returns a copy of the cached role document or loads it; missing roles (null) are not cached
+     */
+    public Document get(Object roleId, Supplier<Document> loader) {
+        String key = String.valueOf(roleId);
+        Document cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return deepCopy(cached);
+        }
+        Document loaded = loader.get();
+        if (loaded != null) {
+            cache.put(key, deepCopy(loaded));
+        }
+        return loaded;
+    }
+
+    public void invalidate(String roleId) {
+        log.debug("Invalidating cached role: {}", roleId);
+        cache.invalidate(roleId);
+    }
+
+    /** Copia documentos y listas anidados (permisos); los valores BSON simples son inmutables */
+    private static Document deepCopy(Document document) {
+        Document copy = new Document();
+        document.forEach((key, value) -> copy.put(key, copyValue(value)));
+        return copy;
+    }
+
+    private static Object copyValue(Object value) {
+        if (value instanceof Document document) {
+            return deepCopy(document);
+        }
+        if (value instanceof Map<?, ?> map) {
+            Document copy = new Document();
+            map.forEach((key, nested) -> copy.put(String.valueOf(key), copyValue(nested)));
+            return copy;
+        }
+        if (value instanceof List<?> list) {
+            List<Object> copy = new ArrayList<>(list.size());
+            list.forEach(item -> copy.add(copyValue(item)));
+            return copy;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,151 @@
+package com.unibague.gradework.orionuser.repository;
+
+import com.unibague.gradework.orionuser.model.Actor;
+import com.unibague.gradework.orionuser.model.Student;
+import com.unibague.gradework.orionuser.model.User;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * UserStore over the "students" and "actors" collections (default layout)
+ */
+@Component
+@ConditionalOnProperty(prefix = "orion.services", name = "storage-mode", havingValue = "split", matchIfMissing = true)
+@SuppressWarnings("unchecked")
+public class SplitUserStore implements UserStore {
+
+    private final StudentRepository studentRepository;
+    private final ActorRepository actorRepository;
+    private final MongoTemplate mongoTemplate;
+
+    public SplitUserStore(StudentRepository studentRepository,
+                          ActorRepository actorRepository,
+                          MongoTemplate mongoTemplate) {
+        this.studentRepository = studentRepository;
+        this.actorRepository = actorRepository;
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public <T extends User> Optional<T> findById(Class<T> type, String id) {
+        return isStudent(type)
+                ? (Optional<T>) studentRepository.findById(id)
+                : (Optional<T>) actorRepository.findById(id);
+    }
+
+    @Override
+    public <T extends User> Optional<T> findByEmail(Class<T> type, String email) {
+        return isStudent(type)
+                ? (Optional<T>) studentRepository.findByEmail(email)
+                : (Optional<T>) actorRepository.findByEmail(email);
+    }
+
+    @Override
+    public <T extends User> List<T> findAll(Class<T> type) {
+        return isStudent(type)
+                ? (List<T>) studentRepository.findAll()
+                : (List<T>) actorRepository.findAll();
+    }
+
+    @Override
+    public List<User> findAllById(Collection<String> ids) {
+        List<User> users = new ArrayList<>(studentRepository.findAllById(ids));
+        if (users.size() < ids.size()) {
+            users.addAll(actorRepository.findAllById(ids));
+        }
+        return users;
+    }
+
+    @Override
+    public <T extends User> List<T> findInPrograms(Class<T> type, Collection<String> programIds) {
+        return isStudent(type)
+                ? (List<T>) studentRepository.findByProgramsIn(programIds)
+                : (List<T>) actorRepository.findByProgramsIn(programIds);
+    }
+
+    @Override
+    public <T extends User> List<T> findPage(Class<T> type, Collection<String> programIds, String after, Pageable pageable) {
+        if (isStudent(type)) {
+            if (programIds == null) {
+                return (List<T>) (after == null
+                        ? studentRepository.findAllBy(pageable)
+                        : studentRepository.findByIdUserGreaterThan(after, pageable));
+            }
+            return (List<T>) (after == null
+                    ? studentRepository.findByProgramsIn(programIds, pageable)
+                    : studentRepository.findByProgramsInAndIdUserGreaterThan(programIds, after, pageable));
+        }
+
+        if (programIds == null) {
+            return (List<T>) (after == null
+                    ? actorRepository.findAllBy(pageable)
+                    : actorRepository.findByIdUserGreaterThan(after, pageable));
+        }
+        return (List<T>) (after == null
+                ? actorRepository.findByProgramsIn(programIds, pageable)
+                : actorRepository.findByProgramsInAndIdUserGreaterThan(programIds, after, pageable));
+    }
+
+    @Override
+    public <T extends User> Stream<T> stream(Class<T> type, Collection<String> programIds) {
+        if (isStudent(type)) {
+            return (Stream<T>) (programIds == null
+                    ? studentRepository.streamAllBy()
+                    : studentRepository.streamByProgramsIn(programIds));
+        }
+        return (Stream<T>) (programIds == null
+                ? actorRepository.streamAllBy()
+                : actorRepository.streamByProgramsIn(programIds));
+    }
+
+    @Override
+    public long count(Class<? extends User> type) {
+        return isStudent(type) ? studentRepository.count() : actorRepository.count();
+    }
+
+    @Override
+    public <T extends User> T insert(T user) {
+        return user instanceof Student student
+                ? (T) studentRepository.insert(student)
+                : (T) actorRepository.insert((Actor) user);
+    }
+
+    @Override
+    public <T extends User> Map<Integer, String> insertAll(List<T> users) {
+        if (users.isEmpty()) {
+            return Map.of();
+        }
+        return BulkInserts.insertUnordered(
+                mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, users.get(0).getClass()), users);
+    }
+
+    @Override
+    public <T extends User> T save(T user) {
+        return user instanceof Student student
+                ? (T) studentRepository.save(student)
+                : (T) actorRepository.save((Actor) user);
+    }
+
+    @Override
+    public void delete(User user) {
+        if (user instanceof Student student) {
+            studentRepository.delete(student);
+        } else {
+            actorRepository.delete((Actor) user);
+        }
+    }
+
+    private static boolean isStudent(Class<? extends User> type) {
+        return Student.class.isAssignableFrom(type);
+    }
+}
@@ -1,13 +1,40 @@
 package com.unibague.gradework.orionuser.repository;
 
 import com.unibague.gradework.orionuser.model.Student;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface StudentRepository extends MongoRepository<Student, String> {
     Optional<Student> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    /** Primera página (keyset pagination sobre _id, el orden lo define el Pageable) */
+    List<Student> findAllBy(Pageable pageable);
+
+    /** Páginas siguientes: solo usuarios con _id mayor que el cursor */
+    List<Student> findByIdUserGreaterThan(String idUser, Pageable pageable);
+
+    // Filtro por programas ($in sobre el índice multikey de "programs")
+
+    List<Student> findByProgramsIn(Collection<String> programIds);
+
+    List<Student> findByProgramsIn(Collection<String> programIds, Pageable pageable);
+
+    List<Student> findByProgramsInAndIdUserGreaterThan(Collection<String> programIds, String idUser, Pageable pageable);
+
+    // Exportación: cursor de Mongo, hay que cerrar el Stream (try-with-resources)
+
+    @Meta(cursorBatchSize = 500)
+    Stream<Student> streamAllBy();
+
+    @Meta(cursorBatchSize = 500)
+    Stream<Student> streamByProgramsIn(Collection<String> programIds);
 }
@@ -0,0 +1,126 @@
+package com.unibague.gradework.orionuser.repository;
+
+import com.unibague.gradework.orionuser.model.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * UserStore over a single polymorphic "users" collection
+ * Students and actors are told apart by the "_class" type alias (@TypeAlias "student"/"actor"),
+ * so lookups by ID or email and "all users in program X" are one indexed query.
+ * Enabled with orion.services.storage-mode=unified; copy existing data first with
+ * --migrate-user-storage (see UserStorageMigration).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "orion.services", name = "storage-mode", havingValue = "unified")
+public class UnifiedUserStore implements UserStore {
+
+    public static final String COLLECTION = "users";
+
+    private static final int CURSOR_BATCH_SIZE = 500;
+
+    private final UserRepository userRepository;
+    private final MongoTemplate mongoTemplate;
+
+    public UnifiedUserStore(UserRepository userRepository, MongoTemplate mongoTemplate) {
+        this.userRepository = userRepository;
+        this.mongoTemplate = mongoTemplate;
+
+        // @Indexed de Student crea el índice en "students"; en "users" se declara aquí
+        mongoTemplate.indexOps(COLLECTION).ensureIndex(new Index()
+                .on("studentID", Sort.Direction.ASC)
+                .named("studentID")
+                .unique()
+                .sparse());
+        log.info("Unified user storage enabled (collection: {})", COLLECTION);
+    }
+
+    @Override
+    public <T extends User> Optional<T> findById(Class<T> type, String id) {
+        return userRepository.findById(id)
+                .filter(type::isInstance)
+                .map(type::cast);
+    }
+
+    @Override
+    public <T extends User> Optional<T> findByEmail(Class<T> type, String email) {
+        return Optional.ofNullable(mongoTemplate.findOne(Query.query(where("email").is(email)).restrict(type),
+                type, COLLECTION));
+    }
+
+    @Override
+    public <T extends User> List<T> findAll(Class<T> type) {
+        return mongoTemplate.find(new Query().restrict(type), type, COLLECTION);
+    }
+
+    @Override
+    public List<User> findAllById(Collection<String> ids) {
+        return userRepository.findAllById(ids);
+    }
+
+    @Override
+    public <T extends User> List<T> findInPrograms(Class<T> type, Collection<String> programIds) {
+        return mongoTemplate.find(Query.query(where("programs").in(programIds)).restrict(type), type, COLLECTION);
+    }
+
+    @Override
+    public <T extends User> List<T> findPage(Class<T> type, Collection<String> programIds, String after, Pageable pageable) {
+        Criteria criteria = new Criteria();
+        if (programIds != null) {
+            criteria = criteria.and("programs").in(programIds);
+        }
+        if (after != null) {
+            criteria = criteria.and("_id").gt(after);
+        }
+        return mongoTemplate.find(Query.query(criteria).with(pageable).restrict(type), type, COLLECTION);
+    }
+
+    @Override
+    public <T extends User> Stream<T> stream(Class<T> type, Collection<String> programIds) {
+        Query query = programIds == null ? new Query() : Query.query(where("programs").in(programIds));
+        return mongoTemplate.stream(query.cursorBatchSize(CURSOR_BATCH_SIZE).restrict(type), type, COLLECTION);
+    }
+
+    @Override
+    public long count(Class<? extends User> type) {
+        return mongoTemplate.count(new Query().restrict(type), type, COLLECTION);
+    }
+
+    @Override
+    public <T extends User> T insert(T user) {
+        return mongoTemplate.insert(user, COLLECTION);
+    }
+
+    @Override
+    public <T extends User> Map<Integer, String> insertAll(List<T> users) {
+        return BulkInserts.insertUnordered(
+                mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class, COLLECTION), users);
+    }
+
+    @Override
+    public <T extends User> T save(T user) {
+        return mongoTemplate.save(user, COLLECTION);
+    }
+
+    @Override
+    public void delete(User user) {
+        userRepository.deleteById(user.getIdUser());
+    }
+}
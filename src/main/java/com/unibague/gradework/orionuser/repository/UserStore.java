@@ -0,0 +1,58 @@
+package com.unibague.gradework.orionuser.repository;
+
+import com.unibague.gradework.orionuser.model.User;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Storage of students and actors, independent of the collection layout
+ * Selected with orion.services.storage-mode:
+ * - split (default): "students" and "actors" collections (StudentRepository / ActorRepository)
+ * - unified: both subtypes in "users" with a type discriminator (UserRepository)
+ * Type parameters are Student or Actor.
+ */
+public interface UserStore {
+
+    <T extends User> Optional<T> findById(Class<T> type, String id);
+
+    <T extends User> Optional<T> findByEmail(Class<T> type, String email);
+
+    <T extends User> List<T> findAll(Class<T> type);
+
+    /** Students and actors with any of the given IDs; unknown IDs are absent */
+    List<User> findAllById(Collection<String> ids);
+
+    <T extends User> List<T> findInPrograms(Class<T> type, Collection<String> programIds);
+
+    /**
+     * Keyset page: users with _id greater than "after" (all if null), in the pageable's order and size
+     * @param programIds restrict to users in these programs, or null for no restriction
+     */
+    <T extends User> List<T> findPage(Class<T> type, Collection<String> programIds, String after, Pageable pageable);
+
+    /**
+     * Database cursor over the users; the caller must close the stream
+     * @param programIds restrict to users in these programs, or null for no restriction
+     */
+    <T extends User> Stream<T> stream(Class<T> type, Collection<String> programIds);
+
+    long count(Class<? extends User> type);
+
+    /** Fails with DuplicateKeyException instead of overwriting an existing user */
+    <T extends User> T insert(T user);
+
+    /**
+     * Unordered bulk insert of users of one type; a failing document does not stop the others
+     * @return error message per failed user, keyed by its position in users
+     */
+    <T extends User> Map<Integer, String> insertAll(List<T> users);
+
+    <T extends User> T save(T user);
+
+    void delete(User user);
+}
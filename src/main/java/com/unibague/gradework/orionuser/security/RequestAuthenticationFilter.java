@@ -0,0 +1,147 @@
+package com.unibague.gradework.orionuser.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Único filtro de seguridad del servicio (dentro de la cadena de Spring Security)
+ * Lee los headers X-* una sola vez, clasifica al llamador y con ese mismo objeto:
+ * - rechaza el acceso directo (ni gateway, ni interno, ni S2S con token válido) con 403
+ * - pobla SecurityContextHolder solo para S2S con service-auth.token ("system" con rol admin)
+ * - pobla UserContext con el usuario autenticado por el gateway
+ * Igual que los filtros anteriores, el usuario del gateway no se autentica en Spring Security:
+ * los controladores lo validan con UserContext. La única diferencia es que el acceso directo
+ * a /api/roles, /api/users y /api/programs ahora responde 403 (antes 401) porque el rechazo
+ * ocurre dentro de la cadena, antes de la autorización.
+ * Reemplaza a GatewaySecurityFilter, InternalServiceAuthenticationFilter, ServiceRequestAuthFilter
+ * y al filtro de UserContext. No se registra como filtro de servlet (ver SecurityConfig).
+ */
+@Slf4j
+@Component
+public class RequestAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String H_GATEWAY_VALIDATED = "X-Gateway-Validated";
+    private static final String H_INTERNAL_REQUEST  = "X-Internal-Request";
+    private static final String H_SERVICE_REQUEST   = "X-Service-Request";
+    private static final String H_SERVICE_NAME      = "X-Service-Name";
+    private static final String H_SERVICE_TOKEN     = "X-Service-Token";
+    private static final String H_USER_ID           = "X-User-ID";
+    private static final String H_USER_EMAIL        = "X-User-Email";
+    private static final String H_USER_ROLE         = "X-User-Role";
+    private static final String H_USER_PROGRAMS     = "X-User-Programs";
+
+    enum CallerType { PUBLIC, GATEWAY, SERVICE, REJECTED }
+
+    /**
+     * Llamador de la petición, resultado del único parseo de headers
+     * @param user           usuario autenticado por el gateway, o null
+     * @param authentication autenticación para Spring Security (solo S2S con service-auth.token), o null
+     */
+    record Caller(CallerType type, String serviceName, UserContext.AuthenticatedUser user,
+                  Authentication authentication) {
+    }
+
+    private static final Caller PUBLIC_CALLER = new Caller(CallerType.PUBLIC, null, null, null);
+    private static final Caller REJECTED_CALLER = new Caller(CallerType.REJECTED, null, null, null);
+
+    private final ServiceAuthProperties serviceAuthProperties;
+    private final String gatewayServiceToken;
+    private final List<GrantedAuthority> systemAuthorities;
+
+    public RequestAuthenticationFilter(ServiceAuthProperties serviceAuthProperties,
+                                       @Value("${gateway.service.token:${GATEWAY_SERVICE_TOKEN:dev-token-unibague-orion}}")
+                                       String gatewayServiceToken) {
+        this.serviceAuthProperties = serviceAuthProperties;
+        this.gatewayServiceToken = gatewayServiceToken;
+        this.systemAuthorities = List.of(new SimpleGrantedAuthority(serviceAuthProperties.getAdminRole()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
+            throws ServletException, IOException {
+
+        Caller caller = classify(req);
+
+        // Todo lo demás bloqueado (evita acceso directo por fuera del gateway)
+        if (caller.type() == CallerType.REJECTED) {
+            res.setStatus(HttpServletResponse.SC_FORBIDDEN);
+            res.setContentType("application/json");
+            res.getWriter().write(("""
+                {"error":"DIRECT_ACCESS_FORBIDDEN",
+                 "message":"Use el API Gateway",
+                 "path":"%s","status":403,"service":"orion-user"}""").formatted(req.getRequestURI()));
+            return;
+        }
+
+        if (caller.authentication() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            SecurityContextHolder.getContext().setAuthentication(caller.authentication());
+        }
+        if (caller.type() == CallerType.SERVICE) {
+            log.debug("S2S allowed from {}", caller.serviceName());
+        }
+
+        try {
+            UserContext.set(caller.user());
+            chain.doFilter(req, res);
+        } finally {
+            UserContext.clear(); // limpieza para no filtrar entre hilos
+        }
+    }
+
+    /** Lee cada header una vez y decide quién llama */
+    Caller classify(HttpServletRequest req) {
+        String path = req.getRequestURI();
+        if (path.startsWith("/actuator") || path.equals("/health")) {
+            return PUBLIC_CALLER;
+        }
+
+        boolean fromGateway = "true".equalsIgnoreCase(header(req, H_GATEWAY_VALIDATED));
+        boolean internal    = "true".equalsIgnoreCase(header(req, H_INTERNAL_REQUEST));
+        boolean service     = "true".equalsIgnoreCase(header(req, H_SERVICE_REQUEST));
+        String serviceToken = header(req, H_SERVICE_TOKEN);
+        String serviceName  = header(req, H_SERVICE_NAME);
+
+        // S2S con token de service-auth -> usuario "system" con rol admin
+        // Un token nuevo por petición: es mutable (setAuthenticated, setDetails, eraseCredentials)
+        Authentication authentication = null;
+        if (serviceAuthProperties.isAllowInternalHeader() && internal && service
+                && serviceToken != null && serviceToken.equals(serviceAuthProperties.getToken())) {
+            authentication = UsernamePasswordAuthenticationToken.authenticated("system", "N/A", systemAuthorities);
+        }
+
+        UserContext.AuthenticatedUser user = null;
+        String userId = header(req, H_USER_ID);
+        if (fromGateway && userId != null) {
+            user = new UserContext.AuthenticatedUser(userId, header(req, H_USER_EMAIL),
+                    UserContext.Role.from(header(req, H_USER_ROLE)),
+                    UserContext.parsePrograms(header(req, H_USER_PROGRAMS)));
+        }
+
+        if (fromGateway || internal) {
+            return new Caller(fromGateway ? CallerType.GATEWAY : CallerType.SERVICE, serviceName, user, authentication);
+        }
+        if (service && serviceToken != null && serviceToken.equals(gatewayServiceToken)) {
+            return new Caller(CallerType.SERVICE, serviceName, null, authentication);
+        }
+        return REJECTED_CALLER;
+    }
+
+    private static String header(HttpServletRequest req, String name) {
+        String v = req.getHeader(name);
+        return (v == null || v.isBlank()) ? null : v.trim();
+    }
+}
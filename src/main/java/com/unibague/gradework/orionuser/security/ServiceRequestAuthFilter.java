@@ -1,39 +0,0 @@
-package com.unibague.gradework.orionuser.security;
-
-import jakarta.servlet.FilterChain;
-import jakarta.servlet.ServletException;
-import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpServletResponse;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.stereotype.Component;
-import org.springframework.web.filter.OncePerRequestFilter;
-
-import java.io.IOException;
-import java.util.List;
-
-@Component
-public class ServiceRequestAuthFilter extends OncePerRequestFilter {
-
-    private boolean isInternal(HttpServletRequest req) {
-        String a = req.getHeader("X-Internal-Request");
-        String b = req.getHeader("X-Service-Request");
-        return "true".equalsIgnoreCase(a) || "true".equalsIgnoreCase(b);
-    }
-
-    @Override
-    protected void doFilterInternal(HttpServletRequest req,
-                                    HttpServletResponse res,
-                                    FilterChain chain) throws ServletException, IOException {
-
-        if (isInternal(req) && SecurityContextHolder.getContext().getAuthentication() == null) {
-            var auth = new UsernamePasswordAuthenticationToken(
-                    "orion-gateway", "N/A",
-                    List.of(new SimpleGrantedAuthority("ROLE_SERVICE"))
-            );
-            SecurityContextHolder.getContext().setAuthentication(auth);
-        }
-        chain.doFilter(req, res);
-    }
-}
@@ -1,18 +1,12 @@
 package com.unibague.gradework.orionuser.security;
 
-import jakarta.servlet.FilterChain;
-import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpServletResponse;
 import lombok.Getter;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.annotation.Order;
-import org.springframework.stereotype.Component;
-import org.springframework.web.filter.OncePerRequestFilter;
 
-import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.Callable;
 import java.util.stream.Collectors;
 
 /**
@@ -21,11 +15,10 @@ import java.util.stream.Collectors;
  * - Expone helpers como isAdmin(), isCoordinator(), isStudent() y hasAccessToProgram().
  * - Provee requireAuthentication() y requireAdmin() para validaciones rápidas en controladores.
  * - Incluye métodos estáticos populateFrom(req) y clear() para compatibilidad con SecurityConfig.
+ * - Lo pobla RequestAuthenticationFilter con los headers ya parseados.
  */
 @Slf4j
-@Component
-@Order(2) // corre después del GatewaySecurityFilter (@Order(1))
-public class UserContext extends OncePerRequestFilter {
+public final class UserContext {
 
     private static final ThreadLocal<AuthenticatedUser> CTX = new ThreadLocal<>();
 
@@ -124,28 +117,59 @@ public class UserContext extends OncePerRequestFilter {
         CTX.remove();
     }
 
-    // ==== Filter ====
+    // ==== Propagación a tareas hijas (executors, hilos virtuales) ====
+
+    /**
+     * Envuelve una tarea para que corra con el usuario del hilo que la crea
+     * AuthenticatedUser es inmutable, así que se comparte sin copiar; al terminar se restaura
+     * el contexto previo del hilo ejecutor (importante en pools que reutilizan hilos).
+     */
+    public static Runnable wrap(Runnable task) {
+        AuthenticatedUser captured = CTX.get();
+        return () -> {
+            AuthenticatedUser previous = CTX.get();
+            set(captured);
+            try {
+                task.run();
+            } finally {
+                set(previous);
+            }
+        };
+    }
 
-    @Override
-    protected void doFilterInternal(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
-            throws ServletException, IOException {
+    /** Igual que wrap(Runnable), para tareas con resultado */
+    public static <T> Callable<T> wrap(Callable<T> task) {
+        AuthenticatedUser captured = CTX.get();
+        return () -> {
+            AuthenticatedUser previous = CTX.get();
+            set(captured);
+            try {
+                return task.call();
+            } finally {
+                set(previous);
+            }
+        };
+    }
 
-        try {
-            // Reusar la misma lógica de compatibilidad
-            populateFrom(req);
-            chain.doFilter(req, res);
-        } finally {
-            clear(); // limpieza para no filtrar entre hilos
+    /** Usado por RequestAuthenticationFilter; null limpia el contexto */
+    static void set(AuthenticatedUser user) {
+        if (user != null) {
+            CTX.set(user);
+        } else {
+            CTX.remove();
         }
     }
 
+    private UserContext() {
+    }
+
     private static String header(HttpServletRequest req, String name) {
         String v = req.getHeader(name);
         return (v == null || v.isBlank()) ? null : v;
     }
 
     /** Parse de programas desde un header tipo: "prog1,prog2, prog3" o "[]"/"["a","b"]" */
-    private static Set<String> parsePrograms(String raw) {
+    static Set<String> parsePrograms(String raw) {
         if (raw == null || raw.isBlank()) return Set.of();
 
         String s = raw.trim();
@@ -0,0 +1,170 @@
+package com.unibague.gradework.orionuser.service;
+
+import com.unibague.gradework.orionuser.configuration.ServiceProperties;
+import com.unibague.gradework.orionuser.model.ProgramDTO;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.retry.Retry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Cache, coalescing and fallback orchestration shared by the Program Service clients
+ * Subclasses only implement the remote calls: fetchAll for a list of IDs and fetchOne for a single ID.
+ */
+@Slf4j
+public abstract class AbstractProgramService implements IProgramService {
+
+    protected final ServiceProperties serviceProperties;
+    protected final ProgramCache programCache;
+    protected final ProgramRequestCoalescer coalescer;
+    protected final CircuitBreaker circuitBreaker;
+    protected final Retry retry;
+
+    /** Tras un 404/405 de /batch se usan lookups individuales hasta este instante (epoch millis) y luego se reintenta */
+    private volatile long bulkDisabledUntil;
+
+    protected AbstractProgramService(ServiceProperties serviceProperties,
+                                     ProgramCache programCache,
+                                     ProgramRequestCoalescer coalescer,
+                                     CircuitBreaker circuitBreaker,
+                                     Retry retry) {
+        this.serviceProperties = serviceProperties;
+        this.programCache = programCache;
+        this.coalescer = coalescer;
+        this.circuitBreaker = circuitBreaker;
+        this.retry = retry;
+    }
+
+    /**
+     * Remote lookup of many IDs (no cache)
+     * @param ids distinct program IDs not served by the cache
+     * @return programs found, keyed by ID; IDs the Program Service does not know are absent
+     */
+    protected abstract Map<String, ProgramDTO> fetchAll(List<String> ids);
+
+    /**
+     * Remote lookup of a single ID (no cache)
+     * @return the program, or null if the Program Service does not know it
+     */
+    protected abstract ProgramDTO fetchOne(String programId);
+
+    @Override
+    public List<ProgramDTO> getProgramById(List<String> programIds) {
+        if (programIds == null || programIds.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, ProgramDTO> resolved = getProgramsByIds(programIds);
+        return programIds.stream()
+                .map(resolved::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    public ProgramDTO getProgramDetails(String programId) {
+        if (programId == null || programId.isBlank()) {
+            throw new IllegalArgumentException("Program ID cannot be null or empty");
+        }
+
+        try {
+            return programCache.get(programId, id -> coalescer.execute(id, this::fetchOne));
+        } catch (CallNotPermittedException e) {
+            log.debug("Program Service circuit open, using fallback for ID: {}", programId);
+            return programCache.fallback(programId);
+        } catch (RuntimeException e) {
+            log.error("Error fetching program with ID {}: {}", programId, e.getMessage());
+            return programCache.fallback(programId);
+        }
+    }
+
+    @Override
+    public Map<String, ProgramDTO> getProgramsByIds(Collection<String> programIds) {
+        if (programIds == null || programIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Set<String> distinctIds = new LinkedHashSet<>();
+        for (String id : programIds) {
+            if (id != null && !id.isBlank()) {
+                distinctIds.add(id);
+            }
+        }
+
+        ProgramCache.Lookup lookup = programCache.lookupAll(distinctIds);
+        Map<String, ProgramDTO> resolved = new HashMap<>(lookup.found());
+        List<String> missingIds = lookup.missing();
+
+        if (!lookup.stale().isEmpty()) {
+            programCache.refreshAsync(lookup.stale(), ids -> coalescer.executeAll(ids, this::fetchAll));
+        }
+
+        if (!missingIds.isEmpty()) {
+            try {
+                Map<String, ProgramDTO> fetched = coalescer.executeAll(missingIds, this::fetchAll);
+                programCache.putAll(missingIds, fetched);
+                resolved.putAll(fetched);
+            } catch (CallNotPermittedException e) {
+                log.debug("Program Service circuit open, using fallback for {} programs", missingIds.size());
+                missingIds.forEach(id -> resolved.put(id, programCache.fallback(id)));
+            } catch (RuntimeException e) {
+                log.error("Error fetching {} programs: {}", missingIds.size(), e.getMessage());
+                missingIds.forEach(id -> resolved.put(id, programCache.fallback(id)));
+            }
+        }
+
+        log.debug("Resolved {} of {} distinct program IDs ({} from cache, {} stale)",
+                resolved.size(), distinctIds.size(), lookup.found().size(), lookup.stale().size());
+        return resolved;
+    }
+
+    @Override
+    public void evictPrograms(Collection<String> programIds) {
+        log.info("Evicting {} programs from cache", programIds.size());
+        programCache.invalidate(programIds);
+    }
+
+    // ============ HELPERS ============
+
+    protected boolean bulkEndpointAvailable() {
+        return System.currentTimeMillis() >= bulkDisabledUntil;
+    }
+
+    protected void disableBulkEndpoint() {
+        bulkDisabledUntil = System.currentTimeMillis() + serviceProperties.getBulkEndpointRecheckInterval().toMillis();
+    }
+
+    protected List<List<String>> chunks(Collection<String> ids) {
+        return chunk(ids, Math.max(1, serviceProperties.getProgramBatchSize()));
+    }
+
+    /** Respuestas se enlazan directo a ProgramDTO; solo se aceptan las que traen ID y nombre */
+    static boolean isComplete(ProgramDTO program) {
+        return program != null && program.getProgramId() != null && program.getProgramName() != null;
+    }
+
+    static List<List<String>> chunk(Collection<String> ids, int size) {
+        List<List<String>> chunks = new ArrayList<>();
+        List<String> current = new ArrayList<>(Math.min(size, ids.size()));
+        for (String id : ids) {
+            current.add(id);
+            if (current.size() == size) {
+                chunks.add(current);
+                current = new ArrayList<>(size);
+            }
+        }
+        if (!current.isEmpty()) {
+            chunks.add(current);
+        }
+        return chunks;
+    }
+}
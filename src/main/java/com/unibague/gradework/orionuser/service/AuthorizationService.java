@@ -0,0 +1,119 @@
+package com.unibague.gradework.orionuser.service;
+
+import com.unibague.gradework.orionuser.model.AuthorizationDecision;
+import com.unibague.gradework.orionuser.model.AuthorizationQuery;
+import com.unibague.gradework.orionuser.model.User;
+import com.unibague.gradework.orionuser.repository.UserStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Batch authorization decisions for the gateway and sibling services
+ * Permission checks use the compiled role snapshot; program checks use User.programs.
+ */
+@Slf4j
+@Service
+public class AuthorizationService implements IAuthorizationService {
+
+    static final String INVALID_QUERY = "INVALID_QUERY";
+    static final String UNKNOWN_USER = "UNKNOWN_USER";
+    static final String UNKNOWN_ROLE = "UNKNOWN_ROLE";
+    static final String ROLE_MISMATCH = "ROLE_MISMATCH";
+    static final String MISSING_PERMISSION = "MISSING_PERMISSION";
+    static final String NOT_IN_PROGRAM = "NOT_IN_PROGRAM";
+
+    private final RoleSnapshot roleSnapshot;
+    private final UserStore userStore;
+
+    public AuthorizationService(RoleSnapshot roleSnapshot, UserStore userStore) {
+        this.roleSnapshot = roleSnapshot;
+        this.userStore = userStore;
+    }
+
+    @Override
+    public List<AuthorizationDecision> decide(List<AuthorizationQuery> queries) {
+        Set<String> userIds = queries.stream()
+                .filter(Objects::nonNull)
+                .map(AuthorizationQuery::getUserId)
+                .filter(id -> id != null && !id.isBlank())
+                .collect(Collectors.toSet());
+        Map<String, User> users = userIds.isEmpty()
+                ? Map.of()
+                : userStore.findAllById(userIds).stream()
+                        .collect(Collectors.toMap(User::getIdUser, Function.identity(), (a, b) -> a));
+
+        log.debug("Deciding {} authorization queries ({} users loaded)", queries.size(), users.size());
+        return queries.stream().map(query -> decide(query, users)).toList();
+    }
+
+    private AuthorizationDecision decide(AuthorizationQuery query, Map<String, User> users) {
+        if (query == null || isBlank(query.getPermission())
+                || (isBlank(query.getRoleId()) && isBlank(query.getUserId()))) {
+            return deny(query, INVALID_QUERY);
+        }
+
+        User user = null;
+        if (!isBlank(query.getUserId())) {
+            user = users.get(query.getUserId());
+            if (user == null) {
+                return deny(query, UNKNOWN_USER);
+            }
+        }
+
+        String roleId = query.getRoleId();
+        if (user != null) {
+            // Siempre se evalúa el rol que el usuario tiene, no el que envía el llamador
+            String userRoleId = user.getRole() != null ? user.getRole().getIdRole() : null;
+            if (!isBlank(roleId) && !roleId.equals(userRoleId)) {
+                return deny(query, ROLE_MISMATCH);
+            }
+            roleId = userRoleId;
+        }
+        Boolean granted = roleId != null ? roleSnapshot.hasPermission(roleId, query.getPermission()).orElse(null) : null;
+        if (granted == null) {
+            return deny(query, UNKNOWN_ROLE);
+        }
+        if (!granted) {
+            return deny(query, MISSING_PERMISSION);
+        }
+
+        if (!isBlank(query.getProgramId())) {
+            // Sin usuario no hay programas contra los que comprobar
+            if (user == null) {
+                return deny(query, INVALID_QUERY);
+            }
+            if (user.getPrograms() == null || !user.getPrograms().contains(query.getProgramId())) {
+                return deny(query, NOT_IN_PROGRAM);
+            }
+        }
+        return decision(query, true, null);
+    }
+
+    private static AuthorizationDecision deny(AuthorizationQuery query, String reason) {
+        return decision(query, false, reason);
+    }
+
+    private static AuthorizationDecision decision(AuthorizationQuery query, boolean allowed, String reason) {
+        AuthorizationDecision.AuthorizationDecisionBuilder decision = AuthorizationDecision.builder()
+                .allowed(allowed)
+                .reason(reason);
+        if (query != null) {
+            decision.roleId(query.getRoleId())
+                    .userId(query.getUserId())
+                    .permission(query.getPermission())
+                    .programId(query.getProgramId());
+        }
+        return decision.build();
+    }
+
+    private static boolean isBlank(String s) {
+        return s == null || s.isBlank();
+    }
+}
@@ -0,0 +1,50 @@
+package com.unibague.gradework.orionuser.service;
+
+import com.unibague.gradework.orionuser.exception.UserExceptions;
+import com.unibague.gradework.orionuser.model.Student;
+import com.unibague.gradework.orionuser.model.User;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Translates unique index violations into the domain duplicate exceptions
+ * studentID -> DuplicateStudentException, email / _id -> DuplicateUserException
+ */
+final class DuplicateKeys {
+
+    /** Código de error del servidor para violaciones de índice único */
+    static final int ERROR_CODE = 11000;
+
+    // "E11000 duplicate key error collection: db.students index: studentID dup key: {...}"
+    private static final Pattern DUPLICATE_INDEX = Pattern.compile("index: (\\S+) dup key");
+
+    private DuplicateKeys() {
+    }
+
+    static String indexName(DuplicateKeyException e) {
+        return indexName(e.getMessage());
+    }
+
+    static String indexName(String message) {
+        Matcher index = DUPLICATE_INDEX.matcher(String.valueOf(message));
+        return index.find() ? index.group(1) : "";
+    }
+
+    static RuntimeException toDomainException(DuplicateKeyException e, User user) {
+        return toDomainException(e.getMessage(), user);
+    }
+
+    /** Same mapping for raw driver messages (bulk write errors) */
+    static RuntimeException toDomainException(String message, User user) {
+        String indexName = indexName(message);
+        if (indexName.startsWith("studentID") && user instanceof Student student) {
+            return new UserExceptions.DuplicateStudentException(student.getStudentID());
+        }
+        if (indexName.startsWith("email")) {
+            return new UserExceptions.DuplicateUserException(user.getEmail());
+        }
+        return new UserExceptions.DuplicateUserException("ID", user.getIdUser());
+    }
+}
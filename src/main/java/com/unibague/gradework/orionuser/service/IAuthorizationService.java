@@ -0,0 +1,17 @@
+package com.unibague.gradework.orionuser.service;
+
+import com.unibague.gradework.orionuser.model.AuthorizationDecision;
+import com.unibague.gradework.orionuser.model.AuthorizationQuery;
+
+import java.util.List;
+
+public interface IAuthorizationService {
+
+    /**
+     * Answers many permission questions at once
+     * Roles come from memory; the referenced users are loaded with a single lookup.
+     * @param queries questions in request order
+     * @return one decision per query, in the same order
+     */
+    List<AuthorizationDecision> decide(List<AuthorizationQuery> queries);
+}
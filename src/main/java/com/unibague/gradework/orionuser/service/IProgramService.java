@@ -1,9 +1,33 @@
 package com.unibague.gradework.orionuser.service;
 
 import com.unibague.gradework.orionuser.model.ProgramDTO;
+
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface IProgramService {
     List<ProgramDTO> getProgramById(List<String> programIds);
     ProgramDTO getProgramDetails(String programId);
+
+    /**
+     * Resolves many program IDs at once (e.g. every program referenced by a page of users)
+     * Duplicates are dropped and the IDs are fetched in as few bulk requests as possible
+     * @param programIds program IDs to resolve, may contain duplicates
+     * @return resolved programs keyed by program ID; unknown IDs are absent
+     */
+    Map<String, ProgramDTO> getProgramsByIds(Collection<String> programIds);
+
+    /**
+     * Loads the whole program catalog into the program cache, replacing its contents
+     * @return number of programs loaded
+     * @throws com.unibague.gradework.orionuser.exception.UserExceptions.ExternalServiceException if the catalog cannot be fetched
+     */
+    int refreshCatalog();
+
+    /**
+     * Drops cached entries (e.g. after a program is renamed) so the next read fetches fresh data
+     * @param programIds program IDs to invalidate
+     */
+    void evictPrograms(Collection<String> programIds);
 }
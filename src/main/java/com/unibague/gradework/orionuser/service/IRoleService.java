@@ -22,4 +22,10 @@ public interface IRoleService {
     Role addPermissionToRole(String roleId, String permission);
     Role removePermissionFromRole(String roleId, String permission);
     List<String> getRolePermissions(String roleId);
+
+    /**
+     * Checks a single permission from memory in constant time
+     * @throws com.unibague.gradework.orionuser.exception.UserExceptions.RoleNotFoundException if the role does not exist
+     */
+    boolean hasPermission(String roleId, String permission);
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.unibague.gradework.orionuser.service;
+
+import com.unibague.gradework.orionuser.model.Actor;
+import com.unibague.gradework.orionuser.model.ImportReport;
+import com.unibague.gradework.orionuser.model.Student;
+
+import java.util.List;
+
+public interface IUserImportService {
+
+    /**
+     * Creates many students at once; invalid or duplicate rows are reported, not thrown
+     * @param students rows in request order
+     * @return per-row outcome
+     */
+    ImportReport importStudents(List<Student> students);
+
+    /**
+     * Creates many actors at once; invalid or duplicate rows are reported, not thrown
+     * @param actors rows in request order
+     * @return per-row outcome
+     */
+    ImportReport importActors(List<Actor> actors);
+}
@@ -2,8 +2,10 @@ package com.unibague.gradework.orionuser.service;
 
 import com.unibague.gradework.orionuser.model.*;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface IUserService {
 
@@ -15,6 +17,40 @@ public interface IUserService {
 
     List<ActorDTO> getAllActorsDTO();
 
+    /**
+     * Students enrolled in at least one of the given programs (filtered in the database)
+     */
+    List<StudentDTO> getStudentsDTOInPrograms(Collection<String> programIds);
+
+    /**
+     * Keyset-paginated student listing ordered by user ID
+     * @param after      user ID of the last item of the previous page, or null for the first page
+     * @param limit      maximum number of students in the page
+     * @param programIds restrict to students in these programs, or null for no restriction
+     */
+    CursorPage<StudentDTO> getStudentsDTOPage(String after, int limit, Collection<String> programIds);
+
+    /**
+     * Keyset-paginated actor listing ordered by user ID
+     * No program filter: actor lists are only served to coordinators and admins, who have access to
+     * every program. The controller still drops actors without programs for coordinators.
+     * @param after user ID of the last item of the previous page, or null for the first page
+     * @param limit maximum number of actors in the page
+     */
+    CursorPage<ActorDTO> getActorsDTOPage(String after, int limit);
+
+    /**
+     * Streams every student to the sink without materializing the whole list
+     * Rows are read from a database cursor and enriched with programs in small batches
+     * @param programIds restrict to students in these programs, or null for no restriction
+     */
+    void exportStudentsDTO(Collection<String> programIds, Consumer<StudentDTO> sink);
+
+    /**
+     * Streams every actor to the sink without materializing the whole list
+     */
+    void exportActorsDTO(Consumer<ActorDTO> sink);
+
     Optional<StudentDTO> getStudentDTOById(String id);
 
     Optional<ActorDTO> getActorDTOById(String id);
@@ -23,6 +59,11 @@ public interface IUserService {
 
     Optional<Actor> getActorById(String id);
 
+    /**
+     * Student or actor with the given ID, resolved through the identity registry
+     */
+    Optional<User> getUserById(String id);
+
     Optional<UserLogDTO> findUserByEmail(String email);
 
     Student updateStudent(String id, Student studentDetails);
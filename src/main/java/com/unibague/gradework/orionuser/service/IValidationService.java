@@ -1,6 +1,8 @@
 package com.unibague.gradework.orionuser.service;
 
+import com.unibague.gradework.orionuser.model.Actor;
 import com.unibague.gradework.orionuser.model.Role;
+import com.unibague.gradework.orionuser.model.Student;
 
 /**
  * Interface for user validation services
@@ -17,14 +19,6 @@ public interface IValidationService {
      */
     Role validateRole(Role role);
 
-    /**
-     * Validates email format and uniqueness for new users
-     * @param email the email to validate
-     * @throws UserExceptions.InvalidEmailException if email format/domain is invalid
-     * @throws UserExceptions.DuplicateUserException if email already exists
-     */
-    void validateEmail(String email);
-
     /**
      * Validates email for user updates (allows same email)
      * @param existingEmail current user email
@@ -34,14 +28,6 @@ public interface IValidationService {
      */
     void validateEmailOnUpdate(String existingEmail, String newEmail);
 
-    /**
-     * Validates user ID is present and unique
-     * @param idUser the user ID to validate
-     * @throws UserExceptions.InvalidUserDataException if ID is invalid
-     * @throws UserExceptions.DuplicateUserException if ID already exists
-     */
-    void validateIdUser(String idUser);
-
     /**
      * Validates password meets minimum requirements
      * @param password the password to validate
@@ -50,10 +36,17 @@ public interface IValidationService {
     void validatePassword(String password);
 
     /**
-     * Validates student ID format and uniqueness
-     * @param studentId the student ID to validate
-     * @throws UserExceptions.InvalidUserDataException if format is invalid
-     * @throws UserExceptions.DuplicateStudentException if ID already exists
+     * Write-path validation for a new student: required fields and student ID format only
+     * Duplicates (also across students and actors) are rejected by the identity registry's
+     * unique indexes on insert, without pre-check queries.
+     * @throws UserExceptions.InvalidUserDataException if a required field is missing or invalid
+     */
+    void validateNewStudent(Student student);
+
+    /**
+     * Write-path validation for a new actor: required fields only
+     * Duplicates are rejected by the identity registry's unique indexes on insert.
+     * @throws UserExceptions.InvalidUserDataException if a required field is missing
      */
-    void validateStudentId(String studentId);
+    void validateNewActor(Actor actor);
 }
\ No newline at end of file
@@ -0,0 +1,81 @@
+package com.unibague.gradework.orionuser.service;
+
+import com.unibague.gradework.orionuser.model.Actor;
+import com.unibague.gradework.orionuser.model.Student;
+import com.unibague.gradework.orionuser.repository.UserStore;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.stream.Stream;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+/**
+ * Registers pre-existing students and actors in the identity registry at startup
+ * Runs once: a completed pass is recorded in the "migrations" collection and later startups skip it,
+ * even if some conflicting legacy rows could not be registered (UserService still finds those by
+ * falling back to the user collections). A pass with other write errors is not recorded and runs
+ * again on the next startup. Start with --backfill-identities to force another run.
+ * Runs before readiness reports UP. Disable with orion.services.identity-backfill-enabled=false.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "orion.services", name = "identity-backfill-enabled", havingValue = "true", matchIfMissing = true)
+public class IdentityBackfill implements ApplicationRunner {
+
+    public static final String OPTION = "backfill-identities";
+
+    static final String MARKER_COLLECTION = "migrations";
+    static final String MARKER_ID = "identity-backfill";
+
+    private final IdentityRegistry identityRegistry;
+    private final UserStore userStore;
+    private final MongoTemplate mongoTemplate;
+
+    public IdentityBackfill(IdentityRegistry identityRegistry,
+                            UserStore userStore,
+                            MongoTemplate mongoTemplate) {
+        this.identityRegistry = identityRegistry;
+        this.userStore = userStore;
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(OPTION) && isCompleted()) {
+            log.debug("Identity registry backfill already completed");
+            return;
+        }
+
+        log.info("Backfilling identity registry");
+        IdentityRegistry.BackfillResult result;
+        try (Stream<Student> students = userStore.stream(Student.class, null)) {
+            result = identityRegistry.backfill(students);
+        }
+        try (Stream<Actor> actors = userStore.stream(Actor.class, null)) {
+            result = result.plus(identityRegistry.backfill(actors));
+        }
+
+        if (result.failed() > 0) {
+            log.warn("Identity registry backfill incomplete: {} identities added, {} users failed; it will run again on the next startup",
+                    result.inserted(), result.failed());
+            return;
+        }
+
+        mongoTemplate.save(new Document("_id", MARKER_ID)
+                .append("completedAt", Instant.now())
+                .append("inserted", result.inserted()), MARKER_COLLECTION);
+        log.info("Identity registry backfill finished: {} identities added", result.inserted());
+    }
+
+    private boolean isCompleted() {
+        return mongoTemplate.exists(Query.query(where("_id").is(MARKER_ID)), MARKER_COLLECTION);
+    }
+}
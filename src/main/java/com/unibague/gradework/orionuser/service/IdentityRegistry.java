@@ -0,0 +1,222 @@
+package com.unibague.gradework.orionuser.service;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.unibague.gradework.orionuser.enumerator.UserType;
+import com.unibague.gradework.orionuser.model.Identity;
+import com.unibague.gradework.orionuser.model.Student;
+import com.unibague.gradework.orionuser.model.User;
+import com.unibague.gradework.orionuser.repository.BulkInserts;
+import com.unibague.gradework.orionuser.repository.IdentityRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Cross-collection identity registry (collection "identities")
+ * One entry per student or actor with its ID, email and student ID under unique indexes:
+ * - uniqueness across students and actors is enforced by the database, not by pre-checks
+ * - the email check on updates needs a single indexed query instead of one per collection
+ * Kept in sync by UserService on create, update and delete; IdentityBackfill fills it at startup.
+ */
+@Slf4j
+@Component
+public class IdentityRegistry {
+
+    private static final int BACKFILL_BATCH_SIZE = 1000;
+
+    private final IdentityRepository identityRepository;
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Outcome of a backfill pass
+     * @param inserted identities added
+     * @param failed users not registered for a reason other than a duplicate key; a pass with failures must be retried
+     */
+    public record BackfillResult(int inserted, int failed) {
+
+        public BackfillResult plus(BackfillResult other) {
+            return new BackfillResult(inserted + other.inserted, failed + other.failed);
+        }
+    }
+
+    public IdentityRegistry(IdentityRepository identityRepository, MongoTemplate mongoTemplate) {
+        this.identityRepository = identityRepository;
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    public boolean isEmailTaken(String email) {
+        return identityRepository.existsByEmail(normalizeEmail(email));
+    }
+
+    /**
+     * Reserves the user's ID, email and student ID
+     * @throws com.unibague.gradework.orionuser.exception.UserExceptions.DuplicateUserException if the ID or email is taken
+     * @throws com.unibague.gradework.orionuser.exception.UserExceptions.DuplicateStudentException if the student ID is taken
+     */
+    public Identity register(User user) {
+        try {
+            return identityRepository.insert(identityOf(user));
+        } catch (DuplicateKeyException e) {
+            throw DuplicateKeys.toDomainException(e, user);
+        }
+    }
+
+    /**
+     * Points the registry at the updated user (its ID may have changed)
+     * @return the previous entry, to be passed to restore() if the user write fails
+     */
+    public Optional<Identity> update(String previousId, User user) {
+        Optional<Identity> previous = identityRepository.findById(previousId);
+        Identity identity = identityOf(user);
+        try {
+            if (previousId.equals(identity.getIdUser())) {
+                identityRepository.save(identity);
+            } else {
+                identityRepository.insert(identity);
+                identityRepository.deleteById(previousId);
+            }
+        } catch (DuplicateKeyException e) {
+            throw DuplicateKeys.toDomainException(e, user);
+        }
+        return previous;
+    }
+
+    /** Undoes update() after the user write failed */
+    public void restore(Optional<Identity> previous, String currentId) {
+        try {
+            identityRepository.deleteById(currentId);
+            previous.ifPresent(identityRepository::save);
+        } catch (RuntimeException e) {
+            log.error("Could not restore identity for user {}: {}", currentId, e.getMessage());
+        }
+    }
+
+    public void unregister(String idUser) {
+        identityRepository.deleteById(idUser);
+    }
+
+    /**
+     * Registered identities clashing with any of the given IDs, emails or student IDs (one query)
+     */
+    public List<Identity> findConflicts(Collection<String> idUsers, Collection<String> emails, Collection<String> studentIds) {
+        return identityRepository.findByIdUserInOrEmailInOrStudentIDIn(idUsers,
+                emails.stream().map(IdentityRegistry::normalizeEmail).toList(), studentIds);
+    }
+
+    /**
+     * Registers many users with one unordered bulk insert
+     * @return domain error message per user that could not be registered, keyed by position
+     */
+    public Map<Integer, String> registerAll(List<? extends User> users) {
+        List<Identity> identities = users.stream().map(IdentityRegistry::identityOf).toList();
+        Map<Integer, String> failures = BulkInserts.insertUnordered(
+                mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Identity.class), identities);
+
+        Map<Integer, String> messages = new HashMap<>();
+        failures.forEach((index, error) -> messages.put(index, DuplicateKeys.indexName(error).isEmpty()
+                ? error
+                : DuplicateKeys.toDomainException(error, users.get(index)).getMessage()));
+        return messages;
+    }
+
+    public void unregisterAll(Collection<String> idUsers) {
+        if (!idUsers.isEmpty()) {
+            identityRepository.deleteAllById(idUsers);
+        }
+    }
+
+    /**
+     * Registers every user of the stream that is not registered yet (unordered bulk inserts)
+     * Conflicting legacy rows (same email in both collections) are logged and skipped;
+     * any other write error is counted as a failure.
+     */
+    public BackfillResult backfill(Stream<? extends User> users) {
+        BackfillResult result = new BackfillResult(0, 0);
+        Iterator<? extends User> iterator = users.iterator();
+        List<Identity> batch = new ArrayList<>(BACKFILL_BATCH_SIZE);
+        while (iterator.hasNext()) {
+            batch.add(identityOf(iterator.next()));
+            if (batch.size() == BACKFILL_BATCH_SIZE) {
+                result = result.plus(insertUnordered(batch));
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            result = result.plus(insertUnordered(batch));
+        }
+        return result;
+    }
+
+    /**
+     * Trims the user's ID and student ID in place
+     * Applied before every write so the user document, the registry and the lookups use the same keys.
+     */
+    public static <T extends User> T normalizeKeys(T user) {
+        if (user.getIdUser() != null) {
+            user.setIdUser(user.getIdUser().trim());
+        }
+        if (user instanceof Student student && student.getStudentID() != null) {
+            student.setStudentID(student.getStudentID().trim());
+        }
+        return user;
+    }
+
+    // ============ HELPERS ============
+
+    private BackfillResult insertUnordered(List<Identity> batch) {
+        try {
+            BulkWriteResult result = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Identity.class)
+                    .insert(batch)
+                    .execute();
+            return new BackfillResult(result.getInsertedCount(), 0);
+        } catch (BulkOperationException e) {
+            // Los ya registrados fallan por _id duplicado; cualquier otro índice único es un conflicto real
+            // y los errores que no son de clave duplicada (p. ej. validación o escritura) se reintentan
+            int conflicts = 0;
+            int failed = 0;
+            for (BulkWriteError error : e.getErrors()) {
+                if (error.getCode() != DuplicateKeys.ERROR_CODE) {
+                    failed++;
+                    log.error("Identity backfill could not register user {}: {}",
+                            batch.get(error.getIndex()).getIdUser(), error.getMessage());
+                } else if (!"_id_".equals(DuplicateKeys.indexName(error.getMessage()))) {
+                    conflicts++;
+                }
+            }
+            if (conflicts > 0) {
+                log.warn("Identity backfill skipped {} users with an email or student ID already used by another user",
+                        conflicts);
+            }
+            return new BackfillResult(e.getResult().getInsertedCount(), failed);
+        }
+    }
+
+    private static Identity identityOf(User user) {
+        return Identity.builder()
+                .idUser(user.getIdUser() != null ? user.getIdUser().trim() : null)
+                .email(user.getEmail() != null ? normalizeEmail(user.getEmail()) : null)
+                .studentID(user instanceof Student student && student.getStudentID() != null
+                        ? student.getStudentID().trim()
+                        : null)
+                .type(user instanceof Student ? UserType.STUDENT : UserType.ACTOR)
+                .build();
+    }
+
+    private static String normalizeEmail(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,166 @@
+package com.unibague.gradework.orionuser.service;
+
+import com.unibague.gradework.orionuser.configuration.ServiceProperties;
+import com.unibague.gradework.orionuser.enumerator.CredentialType;
+import com.unibague.gradework.orionuser.exception.UserExceptions;
+import com.unibague.gradework.orionuser.model.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Password hashing on a dedicated bounded pool
+ * BCrypt is CPU-bound, so the pool is sized to orion.services.password-hash-threads
+ * (0 = available processors), uses platform threads and queues at most
+ * password-hash-queue-capacity requests. When the queue is full the caller gets a
+ * PasswordHashingUnavailableException (503) right away instead of piling up request threads.
+ * Bulk hashing (imports) is sent in small chunks and never holds more than threads - 1 hashing
+ * threads, so single-user writes always find a thread within one chunk.
+ * Metrics: "orion.password.hash" (latency), "orion.password.hash.queue" (depth),
+ * "orion.password.hash.active" and "orion.password.hash.rejected".
+ */
+@Slf4j
+@Component
+public class PasswordHasher {
+
+    /** Contraseñas por tarea en encodeAll: cada tarea libera su hilo tras unos pocos hashes */
+    static final int BULK_CHUNK_SIZE = 16;
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor hashingExecutor;
+    private final Semaphore bulkPermits;
+    private final Timer hashTimer;
+    private final Counter rejectedHashes;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+                          ServiceProperties serviceProperties,
+                          MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        int threads = serviceProperties.getPasswordHashThreads() > 0
+                ? serviceProperties.getPasswordHashThreads()
+                : Runtime.getRuntime().availableProcessors();
+        int queueCapacity = Math.max(1, serviceProperties.getPasswordHashQueueCapacity());
+        this.hashingExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("password-hash-", 0).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        // Las importaciones comparten threads - 1 hilos; con un solo hilo se intercalan por chunk
+        this.bulkPermits = new Semaphore(Math.max(1, threads - 1));
+
+        this.hashTimer = Timer.builder("orion.password.hash")
+                .description("Time spent hashing one password, excluding queue wait")
+                .register(meterRegistry);
+        this.rejectedHashes = Counter.builder("orion.password.hash.rejected")
+                .description("Hash requests rejected because the hashing queue was full")
+                .register(meterRegistry);
+        Gauge.builder("orion.password.hash.queue", hashingExecutor, executor -> executor.getQueue().size())
+                .description("Hash requests waiting for a hashing thread")
+                .register(meterRegistry);
+        Gauge.builder("orion.password.hash.active", hashingExecutor, ThreadPoolExecutor::getActiveCount)
+                .description("Hashing threads currently busy")
+                .register(meterRegistry);
+
+        log.info("Password hashing pool initialized with {} threads (queue capacity: {})", threads, queueCapacity);
+    }
+
+    /**
+     * Hashes one password on the hashing pool
+     * @throws UserExceptions.PasswordHashingUnavailableException if the hashing queue is full
+     */
+    public String encode(String rawPassword) {
+        return await(submit(() -> hashTimer.record(() -> passwordEncoder.encode(rawPassword))));
+    }
+
+    /**
+     * Hashes all passwords, keeping the input order
+     * The list is submitted in chunks of BULK_CHUNK_SIZE, with at most threads - 1 chunks queued or
+     * running across all bulk callers. The caller waits for a free slot, so an import of any size
+     * takes only a few queue slots and single-user hashes never wait behind more than one chunk.
+     * @throws UserExceptions.PasswordHashingUnavailableException if the hashing queue is full
+     */
+    public List<String> encodeAll(List<String> rawPasswords) {
+        if (rawPasswords.isEmpty()) {
+            return List.of();
+        }
+
+        List<CompletableFuture<List<String>>> chunks = new ArrayList<>();
+        for (int from = 0; from < rawPasswords.size(); from += BULK_CHUNK_SIZE) {
+            List<String> chunk = rawPasswords.subList(from, Math.min(from + BULK_CHUNK_SIZE, rawPasswords.size()));
+            acquireBulkPermit();
+            try {
+                chunks.add(submit(() -> chunk.stream()
+                        .map(raw -> hashTimer.record(() -> passwordEncoder.encode(raw)))
+                        .toList())
+                        .whenComplete((hashes, error) -> bulkPermits.release()));
+            } catch (RuntimeException e) {
+                bulkPermits.release();
+                throw e;
+            }
+        }
+
+        List<String> hashes = new ArrayList<>(rawPasswords.size());
+        chunks.forEach(chunk -> hashes.addAll(await(chunk)));
+        return hashes;
+    }
+
+    /**
+     * Federated (SSO) accounts have no usable password: explicitly flagged or created without one
+     */
+    public static boolean isFederated(User user) {
+        return user.getCredentialType() == CredentialType.FEDERATED
+                || user.getPassword() == null || user.getPassword().isBlank();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashingExecutor.shutdown();
+    }
+
+    // ============ HELPERS ============
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, hashingExecutor);
+        } catch (RejectedExecutionException e) {
+            rejectedHashes.increment();
+            log.warn("Password hashing queue is full ({} waiting), rejecting request", hashingExecutor.getQueue().size());
+            throw new UserExceptions.PasswordHashingUnavailableException();
+        }
+    }
+
+    private void acquireBulkPermit() {
+        try {
+            bulkPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a hashing slot", e);
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.unibague.gradework.orionuser.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Interns permission strings to small integer IDs so a role's permissions can be
+ * compiled into a BitSet and checked in constant time
+ * IDs are never reused or removed; the set of distinct permissions is small.
+ */
+@Component
+public class PermissionRegistry {
+
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    /** Returns the ID of the permission, assigning one the first time it is seen */
+    public int intern(String permission) {
+        return ids.computeIfAbsent(permission, key -> nextId.getAndIncrement());
+    }
+
+    /** Returns the ID of the permission, or -1 if no role has ever declared it */
+    public int idOf(String permission) {
+        return permission != null ? ids.getOrDefault(permission, -1) : -1;
+    }
+
+    public BitSet compile(Collection<String> permissions) {
+        BitSet bits = new BitSet();
+        for (String permission : permissions) {
+            if (permission != null) {
+                bits.set(intern(permission));
+            }
+        }
+        return bits;
+    }
+}
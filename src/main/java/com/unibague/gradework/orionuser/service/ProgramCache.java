@@ -0,0 +1,271 @@
+package com.unibague.gradework.orionuser.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.unibague.gradework.orionuser.configuration.ServiceProperties;
+import com.unibague.gradework.orionuser.model.ProgramDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+/**
+ * Bounded in-process cache in front of the Program Service
+ * Configured by orion.services.cache-enabled, cache-ttl and cache-max-size.
+ * - Entries older than cache-ttl are served stale for up to cache-stale-ttl while one
+ *   background refresh per ID runs; reads never wait for it.
+ * - Programs the Program Service reports as missing are cached for cache-negative-ttl.
+ * - Loads never run inside Caffeine's compute: a blocking HTTP call there would hold the map bin
+ *   (and pin the carrier of a virtual thread). Callers pass coalesced loaders instead.
+ * Hit/miss/eviction counts are published as "cache.*" metrics with cache=programs.
+ */
+@Slf4j
+@Component
+public class ProgramCache {
+
+    public static final String CACHE_NAME = "programs";
+
+    /** Cached lookup result; a null program is a negative (not found) entry */
+    private record Entry(ProgramDTO program, long loadedAtNanos) {
+        static Entry of(ProgramDTO program) {
+            return new Entry(program, System.nanoTime());
+        }
+    }
+
+    /**
+     * Result of a bulk cache lookup
+     * @param found   cached programs, including stale ones
+     * @param missing IDs with no entry that must be fetched
+     * @param stale   IDs served from stale entries that should be refreshed
+     */
+    public record Lookup(Map<String, ProgramDTO> found, List<String> missing, List<String> stale) {
+    }
+
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final Cache<String, Entry> cache;
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final ExecutorService refreshExecutor;
+    private final Semaphore refreshPermits;
+
+    public ProgramCache(ServiceProperties serviceProperties, MeterRegistry meterRegistry, Environment environment) {
+        this.enabled = serviceProperties.isCacheEnabled();
+        this.ttlNanos = serviceProperties.getCacheTtl().toNanos();
+
+        long positiveLifetime = serviceProperties.getCacheTtl().plus(serviceProperties.getCacheStaleTtl()).toNanos();
+        long negativeLifetime = serviceProperties.getCacheNegativeTtl().toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(serviceProperties.getCacheMaxSize())
+                .expireAfter(new Expiry<String, Entry>() {
+                    @Override
+                    public long expireAfterCreate(String key, Entry entry, long currentTime) {
+                        return entry.program() != null ? positiveLifetime : negativeLifetime;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, entry, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        // Las recargas bloquean en HTTP: con hilos virtuales, un hilo por recarga (sin pool) y
+        // max-concurrency recargas a la vez; si no, dos hilos de plataforma
+        if (Threading.VIRTUAL.isActive(environment)) {
+            this.refreshExecutor = Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name("program-cache-refresh-", 0).factory());
+            this.refreshPermits = new Semaphore(Math.max(1, serviceProperties.getMaxConcurrency()));
+        } else {
+            this.refreshExecutor = Executors.newFixedThreadPool(2,
+                    Thread.ofPlatform().name("program-cache-refresh-", 0).daemon().factory());
+            this.refreshPermits = new Semaphore(2);
+        }
+
+        if (enabled) {
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        }
+        log.info("Program cache {} (ttl: {}, stale ttl: {}, negative ttl: {}, max size: {})",
+                enabled ? "enabled" : "disabled",
+                serviceProperties.getCacheTtl(), serviceProperties.getCacheStaleTtl(),
+                serviceProperties.getCacheNegativeTtl(), serviceProperties.getCacheMaxSize());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the cached program or loads it
+     * A null load result is cached as a negative entry; a load failure is thrown and not cached.
+     * A stale entry is returned immediately and refreshed in the background.
+     * The loader runs outside the cache; concurrent misses should share it through ProgramRequestCoalescer.
+     */
+    public ProgramDTO get(String programId, Function<String, ProgramDTO> loader) {
+        if (!enabled) {
+            return loader.apply(programId);
+        }
+
+        Entry entry = cache.getIfPresent(programId);
+        if (entry == null) {
+            ProgramDTO program = loader.apply(programId);
+            cache.put(programId, Entry.of(program));
+            return program;
+        }
+        if (isStale(entry)) {
+            refreshAsync(List.of(programId), ids -> {
+                ProgramDTO program = loader.apply(programId);
+                return program != null ? Map.of(programId, program) : Map.of();
+            });
+        }
+        return entry.program();
+    }
+
+    /**
+     * Looks up many IDs at once without loading anything
+     * Negative entries are reported neither as found nor as missing.
+     */
+    public Lookup lookupAll(Collection<String> programIds) {
+        if (!enabled) {
+            return new Lookup(Map.of(), List.copyOf(programIds), List.of());
+        }
+
+        Map<String, Entry> present = cache.getAllPresent(programIds);
+        Map<String, ProgramDTO> found = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        List<String> stale = new ArrayList<>();
+
+        for (String programId : programIds) {
+            Entry entry = present.get(programId);
+            if (entry == null) {
+                missing.add(programId);
+                continue;
+            }
+            if (entry.program() != null) {
+                found.put(programId, entry.program());
+                if (isStale(entry)) {
+                    stale.add(programId);
+                }
+            }
+        }
+        return new Lookup(found, missing, stale);
+    }
+
+    /**
+     * Stores a fetch result: fetched programs as positive entries and every requested ID
+     * absent from the result as a negative entry
+     */
+    public void putAll(Collection<String> requestedIds, Map<String, ProgramDTO> fetched) {
+        if (!enabled) {
+            return;
+        }
+        Map<String, Entry> entries = new HashMap<>();
+        for (String programId : requestedIds) {
+            entries.put(programId, Entry.of(fetched.get(programId)));
+        }
+        cache.putAll(entries);
+    }
+
+    /**
+     * Replaces the cache contents with a full catalog; IDs missing from it are dropped
+     */
+    public void loadCatalog(Collection<ProgramDTO> programs) {
+        if (!enabled) {
+            return;
+        }
+        Map<String, Entry> entries = new HashMap<>();
+        for (ProgramDTO program : programs) {
+            entries.put(program.getProgramId(), Entry.of(program));
+        }
+        cache.putAll(entries);
+        cache.asMap().keySet().retainAll(entries.keySet());
+    }
+
+    public void invalidate(Collection<String> programIds) {
+        cache.invalidateAll(programIds);
+    }
+
+    /**
+     * Refreshes the given IDs in the background, at most one refresh per ID at a time
+     * On failure the stale entries are kept until they expire.
+     */
+    public void refreshAsync(List<String> programIds, Function<List<String>, Map<String, ProgramDTO>> loader) {
+        List<String> claimed = programIds.stream().filter(refreshing::add).toList();
+        if (claimed.isEmpty()) {
+            return;
+        }
+
+        log.debug("Refreshing {} stale programs in background", claimed.size());
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    refreshPermits.acquire();
+                    try {
+                        putAll(claimed, loader.apply(claimed));
+                    } finally {
+                        refreshPermits.release();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (RuntimeException e) {
+                    log.warn("Background refresh of {} programs failed, serving stale data: {}",
+                            claimed.size(), e.getMessage());
+                } finally {
+                    claimed.forEach(refreshing::remove);
+                }
+            });
+        } catch (RuntimeException e) {
+            claimed.forEach(refreshing::remove);
+            log.warn("Could not schedule program refresh: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Degraded answer used when the Program Service cannot be reached
+     * Returns the cached (possibly stale) program if there is one, otherwise an ID-only program (never cached)
+     */
+    public ProgramDTO fallback(String programId) {
+        Entry entry = enabled ? cache.getIfPresent(programId) : null;
+        return entry != null && entry.program() != null
+                ? entry.program()
+                : ProgramDTO.builder().programId(programId).build();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private boolean isStale(Entry entry) {
+        return entry.program() != null && System.nanoTime() - entry.loadedAtNanos() > ttlNanos;
+    }
+}
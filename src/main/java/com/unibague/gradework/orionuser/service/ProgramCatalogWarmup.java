@@ -0,0 +1,43 @@
+package com.unibague.gradework.orionuser.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Preloads the program catalog into the program cache at startup
+ * Runners complete before readiness switches to ACCEPTING_TRAFFIC, so the
+ * readiness probe only reports UP once the cache is warm.
+ * Enabled with orion.services.cache-warmup-enabled=true.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "orion.services", name = "cache-warmup-enabled", havingValue = "true")
+public class ProgramCatalogWarmup implements ApplicationRunner {
+
+    private final IProgramService programService;
+    private final ProgramCache programCache;
+
+    public ProgramCatalogWarmup(IProgramService programService, ProgramCache programCache) {
+        this.programService = programService;
+        this.programCache = programCache;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!programCache.isEnabled()) {
+            log.warn("Program cache warm-up requested but the program cache is disabled");
+            return;
+        }
+
+        try {
+            int loaded = programService.refreshCatalog();
+            log.info("Program cache warmed up with {} programs", loaded);
+        } catch (RuntimeException e) {
+            // Arrancar en frío es preferible a no arrancar: el cache se llena bajo demanda
+            log.error("Program cache warm-up failed, starting cold: {}", e.getMessage());
+        }
+    }
+}
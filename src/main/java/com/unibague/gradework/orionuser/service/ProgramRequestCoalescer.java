@@ -0,0 +1,121 @@
+package com.unibague.gradework.orionuser.service;
+
+import com.unibague.gradework.orionuser.model.ProgramDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Single-flight coalescing for Program Service lookups
+ * If a fetch for a program ID is already in flight, later callers wait for that result
+ * instead of issuing another HTTP call. Saved calls are counted in
+ * "orion.program.requests.coalesced".
+ */
+@Slf4j
+@Component
+public class ProgramRequestCoalescer {
+
+    private final ConcurrentHashMap<String, CompletableFuture<ProgramDTO>> inFlight = new ConcurrentHashMap<>();
+    private final Counter coalescedCalls;
+
+    public ProgramRequestCoalescer(MeterRegistry meterRegistry) {
+        this.coalescedCalls = Counter.builder("orion.program.requests.coalesced")
+                .description("Program lookups that joined an in-flight request instead of calling the Program Service")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Fetches a single program, sharing the result with concurrent callers for the same ID
+     */
+    public ProgramDTO execute(String programId, Function<String, ProgramDTO> fetcher) {
+        CompletableFuture<ProgramDTO> mine = new CompletableFuture<>();
+        CompletableFuture<ProgramDTO> existing = inFlight.putIfAbsent(programId, mine);
+        if (existing != null) {
+            coalescedCalls.increment();
+            log.debug("Joining in-flight lookup for program ID: {}", programId);
+            return await(existing);
+        }
+
+        try {
+            ProgramDTO program = fetcher.apply(programId);
+            mine.complete(program);
+            return program;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(programId, mine);
+        }
+    }
+
+    /**
+     * Fetches many programs at once. IDs already in flight are awaited; the rest are
+     * claimed by this caller and fetched with a single call to the batch fetcher.
+     * Claimed IDs are always completed before waiting on others, so callers never deadlock.
+     */
+    public Map<String, ProgramDTO> executeAll(Collection<String> programIds,
+                                              Function<List<String>, Map<String, ProgramDTO>> batchFetcher) {
+        Map<String, CompletableFuture<ProgramDTO>> claimed = new LinkedHashMap<>();
+        Map<String, CompletableFuture<ProgramDTO>> joined = new HashMap<>();
+
+        for (String programId : programIds) {
+            CompletableFuture<ProgramDTO> mine = new CompletableFuture<>();
+            CompletableFuture<ProgramDTO> existing = inFlight.putIfAbsent(programId, mine);
+            if (existing != null) {
+                joined.put(programId, existing);
+            } else {
+                claimed.put(programId, mine);
+            }
+        }
+
+        if (!joined.isEmpty()) {
+            coalescedCalls.increment(joined.size());
+            log.debug("Joining {} in-flight program lookups", joined.size());
+        }
+
+        Map<String, ProgramDTO> result = new HashMap<>();
+        if (!claimed.isEmpty()) {
+            try {
+                Map<String, ProgramDTO> fetched = batchFetcher.apply(new ArrayList<>(claimed.keySet()));
+                claimed.forEach((id, future) -> future.complete(fetched.get(id)));
+                result.putAll(fetched);
+            } catch (RuntimeException e) {
+                claimed.values().forEach(future -> future.completeExceptionally(e));
+                throw e;
+            } finally {
+                claimed.forEach(inFlight::remove);
+            }
+        }
+
+        joined.forEach((id, future) -> {
+            ProgramDTO program = await(future);
+            if (program != null) {
+                result.put(id, program);
+            }
+        });
+        return result;
+    }
+
+    private static ProgramDTO await(CompletableFuture<ProgramDTO> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
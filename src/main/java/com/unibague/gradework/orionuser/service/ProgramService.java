@@ -1,77 +1,205 @@
 package com.unibague.gradework.orionuser.service;
 
 import com.unibague.gradework.orionuser.configuration.ServiceProperties;
+import com.unibague.gradework.orionuser.exception.UserExceptions;
 import com.unibague.gradework.orionuser.model.ProgramDTO;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.retry.Retry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.client.HttpClientErrorException;
 
-import java.util.LinkedHashMap;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Supplier;
 
 @Slf4j
 @Service
-public class ProgramService implements IProgramService {
+@ConditionalOnProperty(prefix = "orion.services", name = "program-client", havingValue = "rest", matchIfMissing = true)
+public class ProgramService extends AbstractProgramService {
 
     private final RestTemplate restTemplate;
-    private final ServiceProperties serviceProperties;
 
-    public ProgramService(RestTemplate restTemplate, ServiceProperties serviceProperties) {
+    /** Con spring.threads.virtual.enabled=true los chunks se piden en paralelo, un hilo virtual por chunk */
+    private static final ThreadFactory FETCH_THREADS = Thread.ofVirtual().name("program-fetch-", 0).factory();
+
+    private final boolean virtualThreads;
+
+    public ProgramService(RestTemplate restTemplate,
+                          ServiceProperties serviceProperties,
+                          ProgramCache programCache,
+                          ProgramRequestCoalescer coalescer,
+                          CircuitBreaker programServiceCircuitBreaker,
+                          Retry programServiceRetry,
+                          Environment environment) {
+        super(serviceProperties, programCache, coalescer, programServiceCircuitBreaker, programServiceRetry);
         this.restTemplate = restTemplate;
-        this.serviceProperties = serviceProperties;
-        log.info("ProgramService initialized with URL: {}", serviceProperties.getProgramServiceUrl());
+        this.virtualThreads = Threading.VIRTUAL.isActive(environment);
+        log.info("ProgramService initialized with URL: {} (virtual thread fan-out: {})",
+                serviceProperties.getProgramServiceUrl(), virtualThreads);
     }
 
     @Override
-    public List<ProgramDTO> getProgramById(List<String> programIds) {
-        if (programIds == null || programIds.isEmpty()) {
-            return List.of();
-        }
+    public int refreshCatalog() {
+        String url = serviceProperties.getProgramServiceUrl();
+        log.info("Refreshing program catalog from URL: {}", url);
 
-        return programIds.stream()
-                .map(this::getProgramDetails)
-                .filter(Objects::nonNull)
-                .toList();
-    }
+        try {
+            ProgramDTO[] catalog = callProgramService(() -> restTemplate.getForObject(url, ProgramDTO[].class));
+            List<ProgramDTO> programs = catalog == null ? List.of() : Arrays.stream(catalog)
+                    .filter(AbstractProgramService::isComplete)
+                    .toList();
 
-    @Override
-    public ProgramDTO getProgramDetails(String programId) {
-        if (programId == null || programId.isBlank()) {
-            throw new IllegalArgumentException("Program ID cannot be null or empty");
+            programCache.loadCatalog(programs);
+            log.info("Program catalog refreshed with {} programs", programs.size());
+            return programs.size();
+        } catch (RuntimeException e) {
+            throw new UserExceptions.ExternalServiceException("Program Service", e);
         }
+    }
+
+    // ============ HELPERS ============
 
+    /**
+     * Llamada remota al Program Service para un solo ID (sin cache)
+     * Returns null on 404; any other failure is thrown once retries are exhausted
+     */
+    @Override
+    protected ProgramDTO fetchOne(String programId) {
         String url = serviceProperties.getProgramServiceUrl() + "/" + programId;
         log.debug("Fetching program details for ID: {} from URL: {}", programId, url);
 
         try {
-            Object response = restTemplate
-                    .getForEntity(url, Object.class)
-                    .getBody();
-
-            if (response instanceof LinkedHashMap<?, ?> programMap) {
-                String id = (String) programMap.get("programId");
-                String name = (String) programMap.get("programName");
-
-                if (id == null || name == null) {
-                    log.warn("Invalid program data received for ID: {}", programId);
-                    return null;
-                }
+            ProgramDTO program = callProgramService(() -> restTemplate.getForObject(url, ProgramDTO.class));
 
-                log.debug("Successfully retrieved program: {}", name);
-                return new ProgramDTO(id, name);
+            if (!isComplete(program)) {
+                log.warn("Invalid program data received for ID: {}", programId);
+                return null;
             }
 
-            log.warn("Unexpected response format from Program Service for ID: {}", programId);
-            return null;
+            log.debug("Successfully retrieved program: {}", program.getProgramName());
+            return program;
 
         } catch (HttpClientErrorException.NotFound e) {
             log.debug("Program not found with ID: {}", programId);
             return null;
-        } catch (Exception e) {
-            log.error("Error fetching program with ID {}: {}", programId, e.getMessage());
-            return null;
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    protected Map<String, ProgramDTO> fetchAll(List<String> ids) {
+        List<List<String>> chunks = chunks(ids);
+        if (virtualThreads && chunks.size() > 1) {
+            return fetchConcurrently(chunks);
+        }
+
+        Map<String, ProgramDTO> result = new HashMap<>();
+        for (List<String> chunk : chunks) {
+            result.putAll(fetchBatch(chunk));
+        }
+        return result;
+    }
+
+    /**
+     * Virtual-thread fan-out: one virtual thread per chunk, at most max-concurrency requests in flight
+     * Blocking HTTP calls park the virtual thread instead of holding a platform thread.
+     * The first failure cancels the remaining chunks and is thrown so the caller can fall back.
+     */
+    private Map<String, ProgramDTO> fetchConcurrently(List<List<String>> chunks) {
+        Semaphore permits = new Semaphore(Math.max(1, serviceProperties.getMaxConcurrency()));
+        try (ExecutorService executor = Executors.newThreadPerTaskExecutor(FETCH_THREADS)) {
+            List<Future<Map<String, ProgramDTO>>> futures = chunks.stream()
+                    .map(chunk -> executor.submit(() -> {
+                        permits.acquire();
+                        try {
+                            return fetchBatch(chunk);
+                        } finally {
+                            permits.release();
+                        }
+                    }))
+                    .toList();
+
+            Map<String, ProgramDTO> result = new HashMap<>();
+            try {
+                for (Future<Map<String, ProgramDTO>> future : futures) {
+                    result.putAll(await(future));
+                }
+            } catch (RuntimeException e) {
+                futures.forEach(future -> future.cancel(true));
+                throw e;
+            }
+            return result;
+        }
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Program fetch failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while fetching programs", e);
+        }
+    }
+
+    /**
+     * Fetches one chunk of IDs through the bulk endpoint (POST {url}/batch)
+     * Falls back to one GET per ID when the Program Service does not support bulk lookups
+     */
+    private Map<String, ProgramDTO> fetchBatch(List<String> ids) {
+        if (bulkEndpointAvailable()) {
+            String url = serviceProperties.getProgramServiceUrl() + "/batch";
+            log.debug("Fetching {} programs in bulk from URL: {}", ids.size(), url);
+
+            try {
+                ProgramDTO[] response = callProgramService(() -> restTemplate.postForObject(url, ids, ProgramDTO[].class));
+                Map<String, ProgramDTO> result = new HashMap<>();
+
+                if (response != null) {
+                    for (ProgramDTO program : response) {
+                        if (isComplete(program)) {
+                            result.put(program.getProgramId(), program);
+                        }
+                    }
+                    return result;
+                }
+
+                log.warn("Unexpected bulk response format from Program Service, falling back to single lookups");
+            } catch (HttpClientErrorException.NotFound | HttpClientErrorException.MethodNotAllowed e) {
+                log.warn("Program Service does not support bulk lookups ({}), using single lookups for {}",
+                        e.getStatusCode(), serviceProperties.getBulkEndpointRecheckInterval());
+                disableBulkEndpoint();
+            }
+        }
+
+        Map<String, ProgramDTO> result = new HashMap<>();
+        for (String id : ids) {
+            ProgramDTO program = fetchOne(id);
+            if (program != null) {
+                result.put(id, program);
+            }
+        }
+        return result;
+    }
+
+    /** Cada intento pasa por el circuit breaker; el retry envuelve al breaker */
+    private <T> T callProgramService(Supplier<T> call) {
+        return Retry.decorateSupplier(retry, CircuitBreaker.decorateSupplier(circuitBreaker, call)).get();
+    }
+}
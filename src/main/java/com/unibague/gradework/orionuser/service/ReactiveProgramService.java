@@ -0,0 +1,142 @@
+package com.unibague.gradework.orionuser.service;
+
+import com.unibague.gradework.orionuser.configuration.ServiceProperties;
+import com.unibague.gradework.orionuser.exception.UserExceptions;
+import com.unibague.gradework.orionuser.model.ProgramDTO;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.github.resilience4j.reactor.retry.RetryOperator;
+import io.github.resilience4j.retry.Retry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Non-blocking Program Service client based on WebClient
+ * Resolves program IDs concurrently (bounded by orion.services.max-concurrency) and caps
+ * every lookup with orion.services.request-timeout. Selected with orion.services.program-client=webclient.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "orion.services", name = "program-client", havingValue = "webclient")
+public class ReactiveProgramService extends AbstractProgramService {
+
+    private final WebClient programWebClient;
+
+    public ReactiveProgramService(WebClient programWebClient,
+                                  ServiceProperties serviceProperties,
+                                  ProgramCache programCache,
+                                  ProgramRequestCoalescer coalescer,
+                                  CircuitBreaker programServiceCircuitBreaker,
+                                  Retry programServiceRetry) {
+        super(serviceProperties, programCache, coalescer, programServiceCircuitBreaker, programServiceRetry);
+        this.programWebClient = programWebClient;
+        log.info("ReactiveProgramService initialized with URL: {}", serviceProperties.getProgramServiceUrl());
+    }
+
+    @Override
+    public int refreshCatalog() {
+        log.info("Refreshing program catalog from URL: {}", serviceProperties.getProgramServiceUrl());
+
+        try {
+            List<ProgramDTO> programs = programWebClient.get()
+                    .retrieve()
+                    .bodyToFlux(ProgramDTO.class)
+                    .filter(AbstractProgramService::isComplete)
+                    .collectList()
+                    .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                    .transformDeferred(RetryOperator.of(retry))
+                    .block();
+            List<ProgramDTO> catalog = programs != null ? programs : List.of();
+
+            programCache.loadCatalog(catalog);
+            log.info("Program catalog refreshed with {} programs", catalog.size());
+            return catalog.size();
+        } catch (RuntimeException e) {
+            throw new UserExceptions.ExternalServiceException("Program Service", e);
+        }
+    }
+
+    // ============ HELPERS ============
+
+    /**
+     * Fans out over the chunks with bounded parallelism and waits at most request-timeout overall
+     * Any failure (including the timeout) is thrown so the caller can fall back
+     */
+    @Override
+    protected Map<String, ProgramDTO> fetchAll(List<String> ids) {
+        Map<String, ProgramDTO> result = Flux.fromIterable(chunks(ids))
+                .flatMap(this::fetchBatch, serviceProperties.getMaxConcurrency())
+                .collect(HashMap<String, ProgramDTO>::new, HashMap::putAll)
+                .timeout(serviceProperties.getRequestTimeout())
+                .block();
+        return result != null ? result : Map.of();
+    }
+
+    @Override
+    protected ProgramDTO fetchOne(String programId) {
+        return fetchProgram(programId)
+                .timeout(serviceProperties.getRequestTimeout())
+                .block();
+    }
+
+    /**
+     * Fetches one chunk through the bulk endpoint (POST {url}/batch)
+     * Falls back to concurrent single lookups when bulk lookups are not supported
+     */
+    private Mono<Map<String, ProgramDTO>> fetchBatch(List<String> ids) {
+        if (!bulkEndpointAvailable()) {
+            return fetchEach(ids);
+        }
+
+        return programWebClient.post()
+                .uri("/batch")
+                .bodyValue(ids)
+                .retrieve()
+                .bodyToFlux(ProgramDTO.class)
+                .filter(AbstractProgramService::isComplete)
+                .collectMap(ProgramDTO::getProgramId)
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .transformDeferred(RetryOperator.of(retry))
+                .onErrorResume(e -> e instanceof WebClientResponseException.NotFound
+                        || e instanceof WebClientResponseException.MethodNotAllowed, e -> {
+                    log.warn("Program Service does not support bulk lookups ({}), using single lookups for {}",
+                            e.getMessage(), serviceProperties.getBulkEndpointRecheckInterval());
+                    disableBulkEndpoint();
+                    return fetchEach(ids);
+                });
+    }
+
+    private Mono<Map<String, ProgramDTO>> fetchEach(List<String> ids) {
+        return Flux.fromIterable(ids)
+                .flatMap(this::fetchProgram, serviceProperties.getMaxConcurrency())
+                .collectMap(ProgramDTO::getProgramId);
+    }
+
+    /**
+     * Single lookup through the circuit breaker and retry
+     * Completes empty on 404; any other failure is propagated once retries are exhausted
+     */
+    private Mono<ProgramDTO> fetchProgram(String programId) {
+        log.debug("Fetching program details for ID: {}", programId);
+        return programWebClient.get()
+                .uri("/{id}", programId)
+                .retrieve()
+                .bodyToMono(ProgramDTO.class)
+                .filter(AbstractProgramService::isComplete)
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .transformDeferred(RetryOperator.of(retry))
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> {
+                    log.debug("Program not found with ID: {}", programId);
+                    return Mono.empty();
+                });
+    }
+}
@@ -2,6 +2,7 @@ package com.unibague.gradework.orionuser.service;
 
 import com.unibague.gradework.orionuser.exception.UserExceptions;
 import com.unibague.gradework.orionuser.model.Role;
+import com.unibague.gradework.orionuser.repository.RoleReferenceCache;
 import com.unibague.gradework.orionuser.repository.RoleRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -19,9 +20,15 @@ import java.util.Optional;
 public class RoleService implements IRoleService {
 
     private final RoleRepository roleRepository;
+    private final RoleReferenceCache roleReferenceCache;
+    private final RoleSnapshot roleSnapshot;
 
-    public RoleService(RoleRepository roleRepository) {
+    public RoleService(RoleRepository roleRepository,
+                       RoleReferenceCache roleReferenceCache,
+                       RoleSnapshot roleSnapshot) {
         this.roleRepository = roleRepository;
+        this.roleReferenceCache = roleReferenceCache;
+        this.roleSnapshot = roleSnapshot;
     }
 
     // ==========================================
@@ -45,13 +52,13 @@ public class RoleService implements IRoleService {
         }
 
         log.info("Creating role: {} with {} permissions", role.getName(), role.getPermisos().size());
-        return roleRepository.save(role);
+        return saveAndInvalidate(role);
     }
 
     @Override
     public List<Role> getAllRoles() {
         log.debug("Retrieving all roles");
-        return roleRepository.findAll();
+        return roleSnapshot.findAll();
     }
 
     @Override
@@ -60,7 +67,7 @@ public class RoleService implements IRoleService {
             throw new UserExceptions.InvalidUserDataException("Role ID cannot be empty");
         }
         log.debug("Retrieving role by ID: {}", id);
-        return roleRepository.findById(id);
+        return roleSnapshot.findById(id);
     }
 
     @Override
@@ -69,7 +76,7 @@ public class RoleService implements IRoleService {
             throw new UserExceptions.InvalidUserDataException("Role name cannot be empty");
         }
         log.debug("Retrieving role by name: {}", name);
-        return roleRepository.findByName(name);
+        return roleSnapshot.findByName(name);
     }
 
     @Override
@@ -98,7 +105,7 @@ public class RoleService implements IRoleService {
 
             log.info("Updating role: {} with {} permissions", existingRole.getName(),
                     existingRole.getPermisos().size());
-            return roleRepository.save(existingRole);
+            return saveAndInvalidate(existingRole);
         });
     }
 
@@ -114,6 +121,7 @@ public class RoleService implements IRoleService {
 
         log.info("Deleting role with ID: {}", id);
         roleRepository.deleteById(id);
+        afterWrite(id);
     }
 
     // ==========================================
@@ -133,10 +141,13 @@ public class RoleService implements IRoleService {
             role.setPermisos(new ArrayList<>());
         }
 
+        // Se compara contra el documento recién leído y no contra RoleSnapshot: el snapshot puede
+        // estar vencido (otra instancia pudo quitar el permiso) y saltarse la escritura perdería el cambio.
+        // La lista tiene pocos elementos, así que el contains lineal no pesa frente a la lectura en Mongo.
         if (!role.getPermisos().contains(permission)) {
             role.getPermisos().add(permission);
             log.info("Added permission '{}' to role '{}'", permission, role.getName());
-            return roleRepository.save(role);
+            return saveAndInvalidate(role);
         }
 
         log.debug("Permission '{}' already exists in role '{}'", permission, role.getName());
@@ -154,7 +165,7 @@ public class RoleService implements IRoleService {
 
         if (role.getPermisos() != null && role.getPermisos().remove(permission)) {
             log.info("Removed permission '{}' from role '{}'", permission, role.getName());
-            return roleRepository.save(role);
+            return saveAndInvalidate(role);
         }
 
         log.debug("Permission '{}' not found in role '{}'", permission, role.getName());
@@ -163,9 +174,32 @@ public class RoleService implements IRoleService {
 
     @Override
     public List<String> getRolePermissions(String roleId) {
-        Role role = roleRepository.findById(roleId)
+        Role role = roleSnapshot.findById(roleId)
+                .orElseThrow(() -> new UserExceptions.RoleNotFoundException(roleId));
+
+        return role.getPermisos();
+    }
+
+    @Override
+    public boolean hasPermission(String roleId, String permission) {
+        return roleSnapshot.hasPermission(roleId, permission)
                 .orElseThrow(() -> new UserExceptions.RoleNotFoundException(roleId));
+    }
+
+    // ==========================================
+    // HELPERS
+    // ==========================================
+
+    /** Guarda el rol y refresca las copias en memoria */
+    private Role saveAndInvalidate(Role role) {
+        Role saved = roleRepository.save(role);
+        afterWrite(saved.getIdRole());
+        return saved;
+    }
 
-        return role.getPermisos() != null ? new ArrayList<>(role.getPermisos()) : new ArrayList<>();
+    /** Descarta la copia usada para resolver User.role y publica un snapshot nuevo */
+    private void afterWrite(String roleId) {
+        roleReferenceCache.invalidate(roleId);
+        roleSnapshot.reload();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,153 @@
+package com.unibague.gradework.orionuser.service;
+
+import com.unibague.gradework.orionuser.configuration.ServiceProperties;
+import com.unibague.gradework.orionuser.model.Role;
+import com.unibague.gradework.orionuser.repository.RoleRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Immutable in-memory copy of every role, indexed by id and by name
+ * Roles change a few times a year, so reads never query Mongo: RoleService swaps in a fresh
+ * snapshot after each write, and a snapshot older than orion.services.role-cache-ttl is
+ * reloaded on the next read to pick up writes made by other instances. Only one thread reloads
+ * at a time; concurrent readers keep getting the previous snapshot meanwhile.
+ * Each role's permissions are also compiled into a BitSet for constant-time checks.
+ * Callers always receive copies, so the shared snapshot cannot be mutated.
+ */
+@Slf4j
+@Component
+public class RoleSnapshot {
+
+    /** permissions: compiled permission bits per role ID (PermissionRegistry IDs) */
+    private record Snapshot(List<Role> roles, Map<String, Role> byId, Map<String, Role> byName,
+                            Map<String, BitSet> permissions, long loadedAtNanos) {
+    }
+
+    private final RoleRepository roleRepository;
+    private final PermissionRegistry permissionRegistry;
+    private final long maxAgeNanos;
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+    /** Serializa las recargas (ReentrantLock y no synchronized: no fija hilos virtuales durante la consulta) */
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    public RoleSnapshot(RoleRepository roleRepository,
+                        PermissionRegistry permissionRegistry,
+                        ServiceProperties serviceProperties) {
+        this.roleRepository = roleRepository;
+        this.permissionRegistry = permissionRegistry;
+        this.maxAgeNanos = serviceProperties.getRoleCacheTtl().toNanos();
+    }
+
+    public List<Role> findAll() {
+        return snapshot().roles().stream().map(RoleSnapshot::copy).toList();
+    }
+
+    public Optional<Role> findById(String idRole) {
+        return Optional.ofNullable(snapshot().byId().get(idRole)).map(RoleSnapshot::copy);
+    }
+
+    public Optional<Role> findByName(String name) {
+        return Optional.ofNullable(snapshot().byName().get(name)).map(RoleSnapshot::copy);
+    }
+
+    /**
+     * Constant-time permission check against the compiled permission bits
+     * @return empty if the role does not exist
+     */
+    public Optional<Boolean> hasPermission(String idRole, String permission) {
+        BitSet bits = snapshot().permissions().get(idRole);
+        if (bits == null) {
+            return Optional.empty();
+        }
+        int permissionId = permissionRegistry.idOf(permission);
+        return Optional.of(permissionId >= 0 && bits.get(permissionId));
+    }
+
+    /**
+     * Loads all roles with one query and swaps the snapshot atomically
+     * Reloads are serialized, so a reload requested after a write always ends with the newer data.
+     */
+    public void reload() {
+        reloadLock.lock();
+        try {
+            load();
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private void load() {
+        List<Role> roles = roleRepository.findAll().stream().map(RoleSnapshot::freeze).toList();
+        Map<String, Role> byId = new HashMap<>();
+        Map<String, Role> byName = new HashMap<>();
+        Map<String, BitSet> permissions = new HashMap<>();
+        for (Role role : roles) {
+            byId.put(role.getIdRole(), role);
+            byName.putIfAbsent(role.getName(), role);
+            permissions.put(role.getIdRole(), permissionRegistry.compile(role.getPermisos()));
+        }
+        Snapshot snapshot = new Snapshot(roles,
+                Collections.unmodifiableMap(byId), Collections.unmodifiableMap(byName),
+                Collections.unmodifiableMap(permissions), System.nanoTime());
+        current.set(snapshot);
+        log.debug("Role snapshot reloaded with {} roles", roles.size());
+    }
+
+    private Snapshot snapshot() {
+        Snapshot snapshot = current.get();
+        if (snapshot == null) {
+            // Primera carga: todos esperan a la única consulta
+            reload();
+            return current.get();
+        }
+        if (isExpired(snapshot) && reloadLock.tryLock()) {
+            // Una sola petición recarga; las demás siguen con la copia anterior
+            try {
+                if (isExpired(current.get())) {
+                    load();
+                }
+            } catch (RuntimeException e) {
+                log.warn("Role snapshot reload failed, serving previous snapshot: {}", e.getMessage());
+            } finally {
+                reloadLock.unlock();
+            }
+            return current.get();
+        }
+        return snapshot;
+    }
+
+    private boolean isExpired(Snapshot snapshot) {
+        return System.nanoTime() - snapshot.loadedAtNanos() > maxAgeNanos;
+    }
+
+    /** Copia inmutable; entradas null en permisos (documentos legados) se descartan */
+    private static Role freeze(Role role) {
+        return Role.builder()
+                .idRole(role.getIdRole())
+                .name(role.getName())
+                .permisos(role.getPermisos() != null
+                        ? role.getPermisos().stream().filter(Objects::nonNull).toList()
+                        : List.of())
+                .build();
+    }
+
+    private static Role copy(Role role) {
+        return Role.builder()
+                .idRole(role.getIdRole())
+                .name(role.getName())
+                .permisos(new ArrayList<>(role.getPermisos()))
+                .build();
+    }
+}
@@ -0,0 +1,250 @@
+package com.unibague.gradework.orionuser.service;
+
+import com.unibague.gradework.orionuser.enumerator.CredentialType;
+import com.unibague.gradework.orionuser.enumerator.ImportStatus;
+import com.unibague.gradework.orionuser.model.*;
+import com.unibague.gradework.orionuser.repository.UserStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk creation of students and actors
+ * Instead of the per-user create path (validation queries + hash + insert per call), a batch:
+ * 1. validates every row in memory, roles included (RoleSnapshot)
+ * 2. rejects duplicates inside the batch and against the identity registry (one query)
+ * 3. hashes the passwords in parallel on the PasswordHasher pool
+ * 4. registers identities and inserts users with unordered bulk inserts
+ */
+@Slf4j
+@Service
+public class UserImportService implements IUserImportService {
+
+    private final UserStore userStore;
+    private final IdentityRegistry identityRegistry;
+    private final RoleSnapshot roleSnapshot;
+    private final IValidationService validationService;
+    private final PasswordHasher passwordHasher;
+
+    public UserImportService(UserStore userStore,
+                             IdentityRegistry identityRegistry,
+                             RoleSnapshot roleSnapshot,
+                             IValidationService validationService,
+                             PasswordHasher passwordHasher) {
+        this.userStore = userStore;
+        this.identityRegistry = identityRegistry;
+        this.roleSnapshot = roleSnapshot;
+        this.validationService = validationService;
+        this.passwordHasher = passwordHasher;
+    }
+
+    @Override
+    public ImportReport importStudents(List<Student> students) {
+        log.info("Importing {} students", students.size());
+        return importUsers(students);
+    }
+
+    @Override
+    public ImportReport importActors(List<Actor> actors) {
+        log.info("Importing {} actors", actors.size());
+        return importUsers(actors);
+    }
+
+    // ============ PIPELINE ============
+
+    private <T extends User> ImportReport importUsers(List<T> rows) {
+        ImportRowResult[] results = new ImportRowResult[rows.size()];
+
+        validateRows(rows, results);
+        rejectDuplicates(rows, results);
+
+        List<Integer> accepted = pending(results);
+        List<T> users = accepted.stream().map(rows::get).toList();
+        hashPasswords(users);
+
+        // Identidades primero: sus índices únicos cubren students y actors a la vez
+        Map<Integer, String> identityFailures = identityRegistry.registerAll(users);
+        List<Integer> registered = new ArrayList<>();
+        for (int i = 0; i < accepted.size(); i++) {
+            String error = identityFailures.get(i);
+            if (error != null) {
+                results[accepted.get(i)] = result(rows, accepted.get(i), ImportStatus.DUPLICATE, error);
+            } else {
+                registered.add(accepted.get(i));
+            }
+        }
+
+        Map<Integer, String> insertFailures;
+        try {
+            insertFailures = userStore.insertAll(registered.stream().map(rows::get).toList());
+        } catch (RuntimeException e) {
+            // Fallo del lote completo (red, timeout...): no dejar identidades huérfanas
+            log.error("Bulk insert failed, releasing {} identities: {}", registered.size(), e.getMessage());
+            identityRegistry.unregisterAll(registered.stream().map(index -> rows.get(index).getIdUser()).toList());
+            throw e;
+        }
+        List<String> orphanIdentities = new ArrayList<>();
+        for (int i = 0; i < registered.size(); i++) {
+            int index = registered.get(i);
+            String error = insertFailures.get(i);
+            if (error != null) {
+                orphanIdentities.add(rows.get(index).getIdUser());
+                results[index] = result(rows, index, ImportStatus.FAILED, error);
+            } else {
+                results[index] = result(rows, index, ImportStatus.CREATED, null);
+            }
+        }
+        identityRegistry.unregisterAll(orphanIdentities);
+
+        List<ImportRowResult> report = Arrays.asList(results);
+        int created = (int) report.stream().filter(r -> r.getStatus() == ImportStatus.CREATED).count();
+        log.info("Import finished: {} created, {} rejected", created, rows.size() - created);
+        return ImportReport.builder()
+                .total(rows.size())
+                .created(created)
+                .rejected(rows.size() - created)
+                .rows(report)
+                .build();
+    }
+
+    /** Validación en memoria, sin consultas */
+    private <T extends User> void validateRows(List<T> rows, ImportRowResult[] results) {
+        for (int i = 0; i < rows.size(); i++) {
+            T user = rows.get(i);
+            try {
+                if (user == null) {
+                    throw new IllegalArgumentException("Row is empty");
+                }
+                if (user instanceof Student student) {
+                    validationService.validateNewStudent(student);
+                } else {
+                    validationService.validateNewActor((Actor) user);
+                }
+                if (!PasswordHasher.isFederated(user)) {
+                    validationService.validatePassword(user.getPassword());
+                }
+
+                String roleId = user.getRole() != null ? user.getRole().getIdRole() : null;
+                Role role = roleId != null ? roleSnapshot.findById(roleId).orElse(null) : null;
+                if (role == null) {
+                    throw new IllegalArgumentException("Invalid role ID: " + roleId);
+                }
+                user.setRole(role);
+                IdentityRegistry.normalizeKeys(user);
+                if (user.getPrograms() == null) {
+                    user.setPrograms(List.of());
+                }
+            } catch (RuntimeException e) {
+                results[i] = result(rows, i, ImportStatus.INVALID, e.getMessage());
+            }
+        }
+    }
+
+    /** Duplicados dentro del lote y contra el registro de identidades (una consulta) */
+    private <T extends User> void rejectDuplicates(List<T> rows, ImportRowResult[] results) {
+        Set<String> seenIds = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+        Set<String> seenStudentIds = new HashSet<>();
+
+        for (int index : pending(results)) {
+            T user = rows.get(index);
+            String studentId = studentIdOf(user);
+            if (!seenIds.add(user.getIdUser())) {
+                results[index] = result(rows, index, ImportStatus.DUPLICATE, "Duplicate ID in batch: " + user.getIdUser());
+            } else if (!seenEmails.add(normalizeEmail(user.getEmail()))) {
+                results[index] = result(rows, index, ImportStatus.DUPLICATE, "Duplicate email in batch: " + user.getEmail());
+            } else if (studentId != null && !seenStudentIds.add(studentId)) {
+                results[index] = result(rows, index, ImportStatus.DUPLICATE, "Duplicate student ID in batch: " + studentId);
+            }
+        }
+
+        List<Identity> conflicts = identityRegistry.findConflicts(seenIds, seenEmails, seenStudentIds);
+        if (conflicts.isEmpty()) {
+            return;
+        }
+
+        Map<String, Identity> byId = new HashMap<>();
+        Map<String, Identity> byEmail = new HashMap<>();
+        Map<String, Identity> byStudentId = new HashMap<>();
+        for (Identity identity : conflicts) {
+            byId.put(identity.getIdUser(), identity);
+            byEmail.put(identity.getEmail(), identity);
+            if (identity.getStudentID() != null) {
+                byStudentId.put(identity.getStudentID(), identity);
+            }
+        }
+
+        for (int index : pending(results)) {
+            T user = rows.get(index);
+            String studentId = studentIdOf(user);
+            if (byId.containsKey(user.getIdUser())) {
+                results[index] = result(rows, index, ImportStatus.DUPLICATE,
+                        "User with ID '" + user.getIdUser() + "' already exists");
+            } else if (byEmail.containsKey(normalizeEmail(user.getEmail()))) {
+                results[index] = result(rows, index, ImportStatus.DUPLICATE,
+                        "User with email '" + user.getEmail() + "' already exists");
+            } else if (studentId != null && byStudentId.containsKey(studentId)) {
+                results[index] = result(rows, index, ImportStatus.DUPLICATE,
+                        "Student with ID '" + studentId + "' already exists");
+            }
+        }
+    }
+
+    /** Solo las cuentas locales pasan por BCrypt; las federadas reciben el centinela */
+    private void hashPasswords(List<? extends User> users) {
+        List<User> local = new ArrayList<>();
+        for (User user : users) {
+            if (PasswordHasher.isFederated(user)) {
+                user.setCredentialType(CredentialType.FEDERATED);
+                user.setPassword(CredentialType.FEDERATED_PASSWORD);
+            } else {
+                user.setCredentialType(CredentialType.LOCAL);
+                local.add(user);
+            }
+        }
+
+        List<String> hashes = passwordHasher.encodeAll(local.stream().map(User::getPassword).toList());
+        for (int i = 0; i < local.size(); i++) {
+            local.get(i).setPassword(hashes.get(i));
+        }
+    }
+
+    // ============ HELPERS ============
+
+    private static List<Integer> pending(ImportRowResult[] results) {
+        List<Integer> pending = new ArrayList<>();
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] == null) {
+                pending.add(i);
+            }
+        }
+        return pending;
+    }
+
+    private static ImportRowResult result(List<? extends User> rows, int index, ImportStatus status, String message) {
+        User user = rows.get(index);
+        return ImportRowResult.builder()
+                .index(index)
+                .idUser(user != null ? user.getIdUser() : null)
+                .status(status)
+                .message(message)
+                .build();
+    }
+
+    /** Ya normalizado por IdentityRegistry.normalizeKeys en validateRows */
+    private static String studentIdOf(User user) {
+        return user instanceof Student student ? student.getStudentID() : null;
+    }
+
+    private static String normalizeEmail(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,39 +1,51 @@
 package com.unibague.gradework.orionuser.service;
 
+import com.unibague.gradework.orionuser.enumerator.CredentialType;
 import com.unibague.gradework.orionuser.exception.UserExceptions;
 import com.unibague.gradework.orionuser.model.*;
 import com.unibague.gradework.orionuser.repository.*;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
-import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 public class UserService implements IUserService {
 
     private final IProgramService programService;
-    private final StudentRepository studentRepository;
-    private final ActorRepository actorRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final UserStore userStore;
+    private final PasswordHasher passwordHasher;
     private final IValidationService validationService;
+    private final IdentityRegistry identityRegistry;
 
-    private static final int AUTO_PWD_BYTES = 24; // ~32 chars base64-url
+    private static final int EXPORT_BATCH_SIZE = 200;
 
     public UserService(IProgramService programService,
-                       StudentRepository studentRepository,
-                       ActorRepository actorRepository,
-                       PasswordEncoder passwordEncoder,
-                       IValidationService validationService) {
+                       UserStore userStore,
+                       PasswordHasher passwordHasher,
+                       IValidationService validationService,
+                       IdentityRegistry identityRegistry) {
         this.programService = programService;
-        this.studentRepository = studentRepository;
-        this.actorRepository = actorRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.userStore = userStore;
+        this.passwordHasher = passwordHasher;
         this.validationService = validationService;
+        this.identityRegistry = identityRegistry;
     }
 
     // ============ HELPERS ============
@@ -42,21 +54,56 @@ public class UserService implements IUserService {
         return s == null || s.isBlank();
     }
 
-    /** Genera una contraseña aleatoria segura (para cumplir NOT NULL) */
-    private static String generateRandomPassword() {
-        byte[] bytes = new byte[AUTO_PWD_BYTES];
-        new SecureRandom().nextBytes(bytes);
-        // Base64 URL-safe sin padding, corta y robusta
-        return java.util.Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    /**
+     * Sets the stored password and credential type of a new user
+     * Cuentas federadas (SSO, sin contraseña): centinela no verificable, sin pasar por BCrypt.
+     */
+    private void applyCredentials(User user) {
+        if (PasswordHasher.isFederated(user)) {
+            log.debug("Cuenta federada (SSO): se omite el hash de contraseña");
+            user.setCredentialType(CredentialType.FEDERATED);
+            user.setPassword(CredentialType.FEDERATED_PASSWORD);
+            return;
+        }
+        user.setCredentialType(CredentialType.LOCAL);
+        user.setPassword(passwordHasher.encode(user.getPassword()));
+    }
+
+    /** Ejecuta la escritura y traduce la violación de un índice único a la excepción de dominio */
+    private static <T extends User> T withDuplicateMapping(T user, Supplier<T> write) {
+        try {
+            return write.get();
+        } catch (DuplicateKeyException e) {
+            log.warn("Duplicate key on index '{}' for user {}", DuplicateKeys.indexName(e), user.getIdUser());
+            throw DuplicateKeys.toDomainException(e, user);
+        }
+    }
+
+    /**
+     * Reserva ID/email/studentID en el registro de identidades (único entre students y actors)
+     * y luego inserta; si la inserción falla se libera la reserva. ID y studentID se guardan sin espacios.
+     */
+    private <T extends User> T registerAndInsert(T user, Supplier<T> insert) {
+        IdentityRegistry.normalizeKeys(user);
+        identityRegistry.register(user);
+        try {
+            return withDuplicateMapping(user, insert);
+        } catch (RuntimeException e) {
+            identityRegistry.unregister(user.getIdUser());
+            throw e;
+        }
     }
 
-    private String passwordToPersist(String rawPasswordOrNull) {
-        String raw = rawPasswordOrNull;
-        if (isBlank(raw)) {
-            raw = generateRandomPassword();
-            log.debug("Generando password interno para cuenta federada (SSO)");
+    /** Actualiza el registro de identidades antes de guardar; lo restaura si el guardado falla */
+    private <T extends User> T updateIdentityAndSave(String previousId, T user, Supplier<T> save) {
+        IdentityRegistry.normalizeKeys(user);
+        Optional<Identity> previous = identityRegistry.update(previousId, user);
+        try {
+            return withDuplicateMapping(user, save);
+        } catch (RuntimeException e) {
+            identityRegistry.restore(previous, user.getIdUser());
+            throw e;
         }
-        return passwordEncoder.encode(raw);
     }
 
     // ============ CREATE ============
@@ -67,14 +114,13 @@ public class UserService implements IUserService {
                 student.getIdUser(), student.getEmail(),
                 student.getPrograms() != null ? student.getPrograms().size() : 0);
 
-        validationService.validateIdUser(student.getIdUser());
-        validationService.validateEmail(student.getEmail());
-        validationService.validateStudentId(student.getStudentID());
+        // Los duplicados (también entre students y actors) los rechazan los índices únicos
+        validationService.validateNewStudent(student);
 
         // Contraseña:
         // - Si viene por credenciales locales => validar contraseña.
-        // - Si viene por SSO (Google) y viene vacía => NO validar y generar interna.
-        if (!isBlank(student.getPassword())) {
+        // - Si viene por SSO (Google) => NO validar ni hashear (centinela no verificable).
+        if (!PasswordHasher.isFederated(student)) {
             validationService.validatePassword(student.getPassword());
         } else {
             log.info("Creación de estudiante sin contraseña detectada (flujo federado/SSO).");
@@ -88,7 +134,7 @@ public class UserService implements IUserService {
         // student.setStatus(student.isStatus() || true);
 
         student.setRole(validationService.validateRole(student.getRole()));
-        student.setPassword(passwordToPersist(student.getPassword()));
+        applyCredentials(student);
 
         if (student.getPrograms() != null && !student.getPrograms().isEmpty()) {
             student.setPrograms(student.getPrograms());
@@ -96,7 +142,7 @@ public class UserService implements IUserService {
             student.setPrograms(List.of());
         }
 
-        Student saved = studentRepository.save(student);
+        Student saved = registerAndInsert(student, () -> userStore.insert(student));
         log.info("Student created successfully with ID: {}", saved.getIdUser());
         return saved;
     }
@@ -107,18 +153,17 @@ public class UserService implements IUserService {
                 actor.getIdUser(), actor.getEmail(), actor.getPosition(),
                 actor.getPrograms() != null ? actor.getPrograms().size() : 0);
 
-        validationService.validateIdUser(actor.getIdUser());
-        validationService.validateEmail(actor.getEmail());
+        validationService.validateNewActor(actor);
 
         // Contraseña local vs federada
-        if (!isBlank(actor.getPassword())) {
+        if (!PasswordHasher.isFederated(actor)) {
             validationService.validatePassword(actor.getPassword());
         } else {
             log.info("Creación de actor sin contraseña detectada (flujo federado/SSO).");
         }
 
         actor.setRole(validationService.validateRole(actor.getRole()));
-        actor.setPassword(passwordToPersist(actor.getPassword()));
+        applyCredentials(actor);
 
         if (actor.getPrograms() != null && !actor.getPrograms().isEmpty()) {
             actor.setPrograms(actor.getPrograms());
@@ -126,7 +171,7 @@ public class UserService implements IUserService {
             actor.setPrograms(List.of());
         }
 
-        Actor saved = actorRepository.save(actor);
+        Actor saved = registerAndInsert(actor, () -> userStore.insert(actor));
         log.info("Actor created successfully with ID: {}", saved.getIdUser());
         return saved;
     }
@@ -136,50 +181,94 @@ public class UserService implements IUserService {
     @Override
     public List<StudentDTO> getAllStudentsDTO() {
         log.debug("Retrieving all students as DTOs");
-        List<Student> students = studentRepository.findAll();
-
-        return students.stream().map(student -> {
-            List<ProgramDTO> programs = programService.getProgramById(
-                    Optional.ofNullable(student.getPrograms()).orElse(List.of())
-            );
-            return StudentDTO.builder()
-                    .idUser(student.getIdUser())
-                    .name(student.getName())
-                    .phone(student.getPhone())
-                    .email(student.getEmail())
-                    .image(student.getImage())
-                    .sex(student.getSex())
-                    .role(student.getRole())
-                    .programs(programs)
-                    .studentID(student.getStudentID())
-                    .status(student.isStatus())
-                    .semester(student.getSemester())
-                    .build();
-        }).collect(Collectors.toList());
+        return toStudentDTOs(userStore.findAll(Student.class));
     }
 
     @Override
     public List<ActorDTO> getAllActorsDTO() {
         log.debug("Retrieving all actors as DTOs");
-        List<Actor> actors = actorRepository.findAll();
-
-        return actors.stream().map(actor -> {
-            List<ProgramDTO> programs = programService.getProgramById(
-                    Optional.ofNullable(actor.getPrograms()).orElse(List.of())
-            );
-
-            return ActorDTO.builder()
-                    .idUser(actor.getIdUser())
-                    .name(actor.getName())
-                    .phone(actor.getPhone())
-                    .email(actor.getEmail())
-                    .image(actor.getImage())
-                    .sex(actor.getSex())
-                    .role(actor.getRole())
-                    .programs(programs)
-                    .position(actor.getPosition())
-                    .build();
-        }).collect(Collectors.toList());
+        return toActorDTOs(userStore.findAll(Actor.class));
+    }
+
+    @Override
+    public List<StudentDTO> getStudentsDTOInPrograms(Collection<String> programIds) {
+        log.debug("Retrieving students in {} programs as DTOs", programIds.size());
+        if (programIds.isEmpty()) {
+            return List.of();
+        }
+        return toStudentDTOs(userStore.findInPrograms(Student.class, programIds));
+    }
+
+    // ============ READ PAGES ============
+
+    @Override
+    public CursorPage<StudentDTO> getStudentsDTOPage(String after, int limit, Collection<String> programIds) {
+        log.debug("Retrieving students page after: {}, limit: {}, programs: {}", after, limit, programIds);
+        if (programIds != null && programIds.isEmpty()) {
+            return new CursorPage<>(List.of(), null);
+        }
+
+        List<Student> rows = userStore.findPage(Student.class, programIds, isBlank(after) ? null : after, keysetPage(limit));
+        return toCursorPage(rows, limit, this::toStudentDTOs);
+    }
+
+    @Override
+    public CursorPage<ActorDTO> getActorsDTOPage(String after, int limit) {
+        log.debug("Retrieving actors page after: {}, limit: {}", after, limit);
+        List<Actor> rows = userStore.findPage(Actor.class, null, isBlank(after) ? null : after, keysetPage(limit));
+        return toCursorPage(rows, limit, this::toActorDTOs);
+    }
+
+    /** Pide un elemento extra para saber si hay página siguiente sin hacer un count */
+    private static Pageable keysetPage(int limit) {
+        return PageRequest.of(0, limit + 1, Sort.by(Sort.Direction.ASC, "idUser"));
+    }
+
+    /** Recorta el elemento extra y solo mapea (y resuelve programas de) la página devuelta */
+    private static <U extends User, D> CursorPage<D> toCursorPage(List<U> rows, int limit,
+                                                                  Function<List<U>, List<D>> mapper) {
+        boolean hasMore = rows.size() > limit;
+        List<U> pageRows = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = hasMore ? pageRows.get(pageRows.size() - 1).getIdUser() : null;
+        return new CursorPage<>(mapper.apply(pageRows), nextCursor);
+    }
+
+    // ============ EXPORT ============
+
+    @Override
+    public void exportStudentsDTO(Collection<String> programIds, Consumer<StudentDTO> sink) {
+        log.debug("Exporting students, programs: {}", programIds);
+        if (programIds != null && programIds.isEmpty()) {
+            return;
+        }
+
+        try (Stream<Student> students = userStore.stream(Student.class, programIds)) {
+            forEachBatch(students, batch -> toStudentDTOs(batch).forEach(sink));
+        }
+    }
+
+    @Override
+    public void exportActorsDTO(Consumer<ActorDTO> sink) {
+        log.debug("Exporting actors");
+        try (Stream<Actor> actors = userStore.stream(Actor.class, null)) {
+            forEachBatch(actors, batch -> toActorDTOs(batch).forEach(sink));
+        }
+    }
+
+    /** Agrupa el cursor en lotes para resolver programas en bloque sin cargar toda la colección */
+    private static <T> void forEachBatch(Stream<T> rows, Consumer<List<T>> action) {
+        Iterator<T> iterator = rows.iterator();
+        List<T> batch = new ArrayList<>(EXPORT_BATCH_SIZE);
+        while (iterator.hasNext()) {
+            batch.add(iterator.next());
+            if (batch.size() == EXPORT_BATCH_SIZE) {
+                action.accept(batch);
+                batch = new ArrayList<>(EXPORT_BATCH_SIZE);
+            }
+        }
+        if (!batch.isEmpty()) {
+            action.accept(batch);
+        }
     }
 
     // ============ READ SINGLE DTO ============
@@ -187,73 +276,120 @@ public class UserService implements IUserService {
     @Override
     public Optional<StudentDTO> getStudentDTOById(String id) {
         log.debug("Retrieving student DTO by ID: {}", id);
-        return studentRepository.findById(id).map(student -> {
-            List<ProgramDTO> programs = programService.getProgramById(
-                    Optional.ofNullable(student.getPrograms()).orElse(List.of())
-            );
-
-            return StudentDTO.builder()
-                    .idUser(student.getIdUser())
-                    .name(student.getName())
-                    .phone(student.getPhone())
-                    .email(student.getEmail())
-                    .image(student.getImage())
-                    .sex(student.getSex())
-                    .role(student.getRole())
-                    .programs(programs)
-                    .studentID(student.getStudentID())
-                    .status(student.isStatus())
-                    .semester(student.getSemester())
-                    .build();
-        });
+        return userStore.findById(Student.class, id)
+                .map(student -> toStudentDTO(student, resolvePrograms(List.of(student))));
     }
 
     @Override
     public Optional<ActorDTO> getActorDTOById(String id) {
         log.debug("Retrieving actor DTO by ID: {}", id);
-        return actorRepository.findById(id).map(actor -> {
-            List<ProgramDTO> programs = programService.getProgramById(
-                    Optional.ofNullable(actor.getPrograms()).orElse(List.of())
-            );
-
-            return ActorDTO.builder()
-                    .idUser(actor.getIdUser())
-                    .name(actor.getName())
-                    .phone(actor.getPhone())
-                    .email(actor.getEmail())
-                    .image(actor.getImage())
-                    .sex(actor.getSex())
-                    .role(actor.getRole())
-                    .programs(programs)
-                    .position(actor.getPosition())
-                    .build();
-        });
+        return userStore.findById(Actor.class, id)
+                .map(actor -> toActorDTO(actor, resolvePrograms(List.of(actor))));
+    }
+
+    // ============ DTO MAPPING ============
+
+    private List<StudentDTO> toStudentDTOs(List<Student> students) {
+        Map<String, ProgramDTO> programs = resolvePrograms(students);
+        return students.stream()
+                .map(student -> toStudentDTO(student, programs))
+                .collect(Collectors.toList());
+    }
+
+    private List<ActorDTO> toActorDTOs(List<Actor> actors) {
+        Map<String, ProgramDTO> programs = resolvePrograms(actors);
+        return actors.stream()
+                .map(actor -> toActorDTO(actor, programs))
+                .collect(Collectors.toList());
+    }
+
+    /** Resuelve en bloque todos los programas referenciados por los usuarios (sin duplicados) */
+    private Map<String, ProgramDTO> resolvePrograms(Collection<? extends User> users) {
+        List<String> programIds = users.stream()
+                .map(User::getPrograms)
+                .filter(Objects::nonNull)
+                .flatMap(List::stream)
+                .toList();
+        return programService.getProgramsByIds(programIds);
+    }
+
+    /** Programas del usuario en su orden original, omitiendo los que no se pudieron resolver */
+    private static List<ProgramDTO> programsOf(User user, Map<String, ProgramDTO> resolved) {
+        return Optional.ofNullable(user.getPrograms()).orElse(List.of()).stream()
+                .map(resolved::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private static StudentDTO toStudentDTO(Student student, Map<String, ProgramDTO> resolved) {
+        return StudentDTO.builder()
+                .idUser(student.getIdUser())
+                .name(student.getName())
+                .phone(student.getPhone())
+                .email(student.getEmail())
+                .image(student.getImage())
+                .sex(student.getSex())
+                .role(student.getRole())
+                .programs(programsOf(student, resolved))
+                .studentID(student.getStudentID())
+                .status(student.isStatus())
+                .semester(student.getSemester())
+                .build();
+    }
+
+    private static ActorDTO toActorDTO(Actor actor, Map<String, ProgramDTO> resolved) {
+        return ActorDTO.builder()
+                .idUser(actor.getIdUser())
+                .name(actor.getName())
+                .phone(actor.getPhone())
+                .email(actor.getEmail())
+                .image(actor.getImage())
+                .sex(actor.getSex())
+                .role(actor.getRole())
+                .programs(programsOf(actor, resolved))
+                .position(actor.getPosition())
+                .build();
     }
 
     // ============ READ ENTITIES ============
 
     @Override
     public Optional<Student> getStudentById(String id) {
-        return studentRepository.findById(id);
+        return userStore.findById(Student.class, id);
     }
 
     @Override
     public Optional<Actor> getActorById(String id) {
-        return actorRepository.findById(id);
+        return userStore.findById(Actor.class, id);
     }
 
     @Override
     public Optional<UserLogDTO> findUserByEmail(String email) {
         log.debug("Finding user by email: {}", email);
+        if (isBlank(email)) {
+            return Optional.empty();
+        }
+
+        // Estudiantes primero (la mayoría de logins): una sola lectura indexada, sin pasar por identities
+        Optional<User> user = userStore.findByEmail(Student.class, email).<User>map(User.class::cast)
+                .or(() -> userStore.findByEmail(Actor.class, email).map(User.class::cast));
+        return user.map(this::toLogDTO);
+    }
+
+    @Override
+    public Optional<User> getUserById(String id) {
+        if (isBlank(id)) {
+            return Optional.empty();
+        }
+        return userStore.findById(Student.class, id).<User>map(User.class::cast)
+                .or(() -> userStore.findById(Actor.class, id).map(User.class::cast));
+    }
 
-        Optional<Student> studentOpt = studentRepository.findByEmail(email);
-        if (studentOpt.isPresent()) {
-            Student student = studentOpt.get();
-            List<ProgramDTO> programDetails = programService.getProgramById(
-                    Optional.ofNullable(student.getPrograms()).orElse(List.of())
-            );
+    private UserLogDTO toLogDTO(User user) {
+        List<ProgramDTO> programDetails = programsOf(user, resolvePrograms(List.of(user)));
 
-            StudentLogDTO result = StudentLogDTO.builder()
+        if (user instanceof Student student) {
+            return StudentLogDTO.builder()
                     .idUser(student.getIdUser())
                     .name(student.getName())
                     .email(student.getEmail())
@@ -262,39 +398,28 @@ public class UserService implements IUserService {
                     .sex(student.getSex())
                     .role(student.getRole())
                     .password(student.getPassword())
+                    .credentialType(student.getCredentialType())
                     .programs(programDetails)
                     .studentID(student.getStudentID())
                     .status(student.isStatus())
                     .semester(student.getSemester())
                     .build();
-
-            return Optional.of(result);
-        }
-
-        Optional<Actor> actorOpt = actorRepository.findByEmail(email);
-        if (actorOpt.isPresent()) {
-            Actor actor = actorOpt.get();
-            List<ProgramDTO> programDetails = programService.getProgramById(
-                    Optional.ofNullable(actor.getPrograms()).orElse(List.of())
-            );
-
-            ActorLogDTO result = ActorLogDTO.builder()
-                    .idUser(actor.getIdUser())
-                    .name(actor.getName())
-                    .email(actor.getEmail())
-                    .phone(actor.getPhone())
-                    .image(actor.getImage())
-                    .sex(actor.getSex())
-                    .role(actor.getRole())
-                    .password(actor.getPassword())
-                    .programs(programDetails)
-                    .position(actor.getPosition())
-                    .build();
-
-            return Optional.of(result);
         }
 
-        return Optional.empty();
+        Actor actor = (Actor) user;
+        return ActorLogDTO.builder()
+                .idUser(actor.getIdUser())
+                .name(actor.getName())
+                .email(actor.getEmail())
+                .phone(actor.getPhone())
+                .image(actor.getImage())
+                .sex(actor.getSex())
+                .role(actor.getRole())
+                .password(actor.getPassword())
+                .credentialType(actor.getCredentialType())
+                .programs(programDetails)
+                .position(actor.getPosition())
+                .build();
     }
 
     // ============ UPDATE ============
@@ -303,7 +428,7 @@ public class UserService implements IUserService {
     public Student updateStudent(String id, Student studentDetails) {
         log.info("Updating student with ID: {}", id);
 
-        Student existing = studentRepository.findById(id)
+        Student existing = userStore.findById(Student.class, id)
                 .orElseThrow(() -> new UserExceptions.StudentNotFoundException(id));
 
         validationService.validateEmailOnUpdate(existing.getEmail(), studentDetails.getEmail());
@@ -323,10 +448,11 @@ public class UserService implements IUserService {
         existing.setSemester(studentDetails.getSemester());
 
         if (!isBlank(studentDetails.getPassword())) {
-            existing.setPassword(passwordEncoder.encode(studentDetails.getPassword()));
+            existing.setPassword(passwordHasher.encode(studentDetails.getPassword()));
+            existing.setCredentialType(CredentialType.LOCAL);
         }
 
-        Student saved = studentRepository.save(existing);
+        Student saved = updateIdentityAndSave(id, existing, () -> userStore.save(existing));
         log.info("Student updated successfully: {}", id);
         return saved;
     }
@@ -335,7 +461,7 @@ public class UserService implements IUserService {
     public Actor updateActor(String id, Actor actorDetails) {
         log.info("Updating actor with ID: {}", id);
 
-        Actor existing = actorRepository.findById(id)
+        Actor existing = userStore.findById(Actor.class, id)
                 .orElseThrow(() -> new UserExceptions.ActorNotFoundException(id));
 
         validationService.validateEmailOnUpdate(existing.getEmail(), actorDetails.getEmail());
@@ -353,10 +479,11 @@ public class UserService implements IUserService {
         existing.setPosition(actorDetails.getPosition());
 
         if (!isBlank(actorDetails.getPassword())) {
-            existing.setPassword(passwordEncoder.encode(actorDetails.getPassword()));
+            existing.setPassword(passwordHasher.encode(actorDetails.getPassword()));
+            existing.setCredentialType(CredentialType.LOCAL);
         }
 
-        Actor saved = actorRepository.save(existing);
+        Actor saved = updateIdentityAndSave(id, existing, () -> userStore.save(existing));
         log.info("Actor updated successfully: {}", id);
         return saved;
     }
@@ -366,16 +493,18 @@ public class UserService implements IUserService {
     @Override
     public void deleteStudent(String id) {
         log.info("Deleting student with ID: {}", id);
-        Student existing = studentRepository.findById(id)
+        Student existing = userStore.findById(Student.class, id)
                 .orElseThrow(() -> new UserExceptions.StudentNotFoundException(id));
-        studentRepository.delete(existing);
+        userStore.delete(existing);
+        identityRegistry.unregister(id);
     }
 
     @Override
     public void deleteActor(String id) {
         log.info("Deleting actor with ID: {}", id);
-        Actor existing = actorRepository.findById(id)
+        Actor existing = userStore.findById(Actor.class, id)
                 .orElseThrow(() -> new UserExceptions.ActorNotFoundException(id));
-        actorRepository.delete(existing);
+        userStore.delete(existing);
+        identityRegistry.unregister(id);
     }
 }
\ No newline at end of file
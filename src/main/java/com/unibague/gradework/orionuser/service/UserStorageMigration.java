@@ -0,0 +1,92 @@
+package com.unibague.gradework.orionuser.service;
+
+import com.unibague.gradework.orionuser.model.User;
+import com.unibague.gradework.orionuser.repository.ActorRepository;
+import com.unibague.gradework.orionuser.repository.StudentRepository;
+import com.unibague.gradework.orionuser.repository.UnifiedUserStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Copies the "students" and "actors" collections into the unified "users" collection
+ * Runs only when the application is started with --migrate-user-storage. Idempotent: users
+ * already present in "users" are skipped. Source collections are left untouched; switch
+ * orion.services.storage-mode to "unified" once the copy is verified.
+ */
+@Slf4j
+@Component
+public class UserStorageMigration implements ApplicationRunner {
+
+    public static final String OPTION = "migrate-user-storage";
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final StudentRepository studentRepository;
+    private final ActorRepository actorRepository;
+    private final MongoTemplate mongoTemplate;
+
+    public UserStorageMigration(StudentRepository studentRepository,
+                                ActorRepository actorRepository,
+                                MongoTemplate mongoTemplate) {
+        this.studentRepository = studentRepository;
+        this.actorRepository = actorRepository;
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(OPTION)) {
+            return;
+        }
+
+        log.info("Migrating students and actors into the '{}' collection", UnifiedUserStore.COLLECTION);
+        int copied = 0;
+        try (Stream<? extends User> students = studentRepository.streamAllBy()) {
+            copied += copy(students);
+        }
+        try (Stream<? extends User> actors = actorRepository.streamAllBy()) {
+            copied += copy(actors);
+        }
+        log.info("User storage migration finished: {} users copied into '{}'", copied, UnifiedUserStore.COLLECTION);
+    }
+
+    private int copy(Stream<? extends User> users) {
+        int copied = 0;
+        Iterator<? extends User> iterator = users.iterator();
+        List<User> batch = new ArrayList<>(BATCH_SIZE);
+        while (iterator.hasNext()) {
+            batch.add(iterator.next());
+            if (batch.size() == BATCH_SIZE) {
+                copied += insertUnordered(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            copied += insertUnordered(batch);
+        }
+        return copied;
+    }
+
+    private int insertUnordered(List<User> batch) {
+        try {
+            return mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class, UnifiedUserStore.COLLECTION)
+                    .insert(batch)
+                    .execute()
+                    .getInsertedCount();
+        } catch (BulkOperationException e) {
+            // Ya migrados (o conflicto de email/studentID): se omiten y se sigue con el lote
+            log.debug("Skipped {} users already present in '{}'", e.getErrors().size(), UnifiedUserStore.COLLECTION);
+            return e.getResult().getInsertedCount();
+        }
+    }
+}
@@ -2,11 +2,10 @@ package com.unibague.gradework.orionuser.service;
 
 import com.unibague.gradework.orionuser.configuration.ServiceProperties;
 import com.unibague.gradework.orionuser.exception.UserExceptions;
+import com.unibague.gradework.orionuser.model.Actor;
 import com.unibague.gradework.orionuser.model.Role;
-import com.unibague.gradework.orionuser.repository.ActorRepository;
-import com.unibague.gradework.orionuser.repository.RoleRepository;
+import com.unibague.gradework.orionuser.model.Student;
 
-import com.unibague.gradework.orionuser.repository.StudentRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -14,18 +13,15 @@ import org.springframework.stereotype.Service;
 @Service
 public class ValidationService implements IValidationService {
 
-    private final StudentRepository studentRepository;
-    private final ActorRepository actorRepository;
-    private final RoleRepository roleRepository;
+    private final RoleSnapshot roleSnapshot;
+    private final IdentityRegistry identityRegistry;
     private final ServiceProperties serviceProperties;
 
-    public ValidationService(StudentRepository studentRepository,
-                             ActorRepository actorRepository,
-                             RoleRepository roleRepository,
+    public ValidationService(RoleSnapshot roleSnapshot,
+                             IdentityRegistry identityRegistry,
                              ServiceProperties serviceProperties) {
-        this.studentRepository = studentRepository;
-        this.actorRepository = actorRepository;
-        this.roleRepository = roleRepository;
+        this.roleSnapshot = roleSnapshot;
+        this.identityRegistry = identityRegistry;
         this.serviceProperties = serviceProperties;
     }
 
@@ -37,33 +33,13 @@ public class ValidationService implements IValidationService {
             throw new UserExceptions.InvalidUserDataException("Role ID is required");
         }
 
-        Role validatedRole = roleRepository.findById(role.getIdRole())
+        Role validatedRole = roleSnapshot.findById(role.getIdRole())
                 .orElseThrow(() -> new UserExceptions.RoleNotFoundException(role.getIdRole()));
 
         log.debug("Role validation successful: {}", validatedRole.getName());
         return validatedRole;
     }
 
-    @Override
-    public void validateEmail(String email) {
-        log.debug("Validating email: {}", email);
-
-        if (email == null || email.trim().isEmpty()) {
-            throw new UserExceptions.InvalidUserDataException("Email is required");
-        }
-
-        String cleanEmail = email.trim().toLowerCase();
-
-        // Check for duplicates
-        boolean emailExists = studentRepository.existsByEmail(cleanEmail) ||
-                actorRepository.existsByEmail(cleanEmail);
-        if (emailExists) {
-            throw new UserExceptions.DuplicateUserException(cleanEmail);
-        }
-
-        log.debug("Email validation successful: {}", cleanEmail);
-    }
-
     @Override
     public void validateEmailOnUpdate(String existingEmail, String newEmail) {
         log.debug("Validating email update: {} -> {}", existingEmail, newEmail);
@@ -81,34 +57,13 @@ public class ValidationService implements IValidationService {
         }
 
         // Check uniqueness (excluding current user)
-        boolean exists = studentRepository.existsByEmail(cleanNewEmail) ||
-                actorRepository.existsByEmail(cleanNewEmail);
-        if (exists) {
+        if (identityRegistry.isEmailTaken(cleanNewEmail)) {
             throw new UserExceptions.DuplicateUserException("email", cleanNewEmail);
         }
 
         log.debug("Email update validation successful: {}", cleanNewEmail);
     }
 
-    @Override
-    public void validateIdUser(String idUser) {
-        log.debug("Validating user ID: {}", idUser);
-
-        if (idUser == null || idUser.trim().isEmpty()) {
-            throw new UserExceptions.InvalidUserDataException("User ID is required");
-        }
-
-        String cleanId = idUser.trim();
-
-        boolean idExists = studentRepository.existsById(cleanId) ||
-                actorRepository.existsById(cleanId);
-        if (idExists) {
-            throw new UserExceptions.DuplicateUserException("ID", cleanId);
-        }
-
-        log.debug("User ID validation successful: {}", cleanId);
-    }
-
     @Override
     public void validatePassword(String password) {
         log.debug("Validating password (length: {})", password != null ? password.length() : 0);
@@ -121,26 +76,34 @@ public class ValidationService implements IValidationService {
     }
 
     @Override
-    public void validateStudentId(String studentId) {
-        log.debug("Validating student ID: {}", studentId);
+    public void validateNewStudent(Student student) {
+        String cleanId = requireValue(student.getIdUser(), "User ID is required");
+        requireValue(student.getEmail(), "Email is required");
+        validateStudentIdFormat(student.getStudentID());
+        log.debug("New student validation successful: {}", cleanId);
+    }
 
-        if (studentId == null || studentId.trim().isEmpty()) {
-            throw new UserExceptions.InvalidUserDataException("Student ID is required");
+    @Override
+    public void validateNewActor(Actor actor) {
+        String cleanId = requireValue(actor.getIdUser(), "User ID is required");
+        requireValue(actor.getEmail(), "Email is required");
+        log.debug("New actor validation successful: {}", cleanId);
+    }
+
+    private static String requireValue(String value, String message) {
+        if (value == null || value.trim().isEmpty()) {
+            throw new UserExceptions.InvalidUserDataException(message);
         }
+        return value.trim();
+    }
 
-        String cleanStudentId = studentId.trim();
+    private static String validateStudentIdFormat(String studentId) {
+        log.debug("Validating student ID: {}", studentId);
 
+        String cleanStudentId = requireValue(studentId, "Student ID is required");
         if (!cleanStudentId.matches("^[0-9]{8,12}$")) {
             throw new UserExceptions.InvalidUserDataException("Student ID must be 8-12 digits");
         }
-
-        boolean exists = studentRepository.findAll().stream()
-                .anyMatch(student -> cleanStudentId.equals(student.getStudentID()));
-
-        if (exists) {
-            throw new UserExceptions.DuplicateStudentException(cleanStudentId);
-        }
-
-        log.debug("Student ID validation successful: {}", cleanStudentId);
+        return cleanStudentId;
     }
-}
\ No newline at end of file
+}
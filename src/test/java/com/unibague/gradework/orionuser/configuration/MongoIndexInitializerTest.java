@@ -0,0 +1,73 @@
+package com.unibague.gradework.orionuser.configuration;
+
+import com.unibague.gradework.orionuser.model.Identity;
+import com.unibague.gradework.orionuser.model.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for MongoIndexInitializer
+ */
+class MongoIndexInitializerTest {
+
+    private MongoTemplate mongoTemplate;
+    private final List<String> created = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.indexOps(any(Class.class))).thenAnswer(invocation -> indexOps(invocation.getArgument(0)));
+        when(mongoTemplate.getCollectionName(any())).thenReturn("students");
+    }
+
+    @Test
+    void duplicateLegacyDataSkipsOnlyThatIndex() {
+        IndexOperations studentIndexes = mock(IndexOperations.class);
+        when(studentIndexes.ensureIndex(any())).thenAnswer(invocation -> record(Student.class, invocation.getArgument(0)));
+        doThrow(new DuplicateKeyException("E11000 duplicate key error"))
+                .when(studentIndexes).ensureIndex(argThat(index -> index.getIndexKeys().containsKey("studentID")));
+        when(mongoTemplate.indexOps(Student.class)).thenReturn(studentIndexes);
+
+        new MongoIndexInitializer(mongoTemplate, new MongoMappingContext()).createIndexes();
+
+        assertThat(created).contains("Student:email", "Student:programs", "Identity:email", "Identity:studentID");
+        assertThat(created).doesNotContain("Student:studentID");
+    }
+
+    @Test
+    void identityIndexFailureStopsTheStartup() {
+        IndexOperations identityIndexes = mock(IndexOperations.class);
+        when(identityIndexes.ensureIndex(any())).thenThrow(new DuplicateKeyException("E11000 duplicate key error"));
+        when(mongoTemplate.indexOps(Identity.class)).thenReturn(identityIndexes);
+
+        assertThatThrownBy(() -> new MongoIndexInitializer(mongoTemplate, new MongoMappingContext()).createIndexes())
+                .isInstanceOf(DuplicateKeyException.class);
+    }
+
+    private IndexOperations indexOps(Class<?> type) {
+        IndexOperations indexOps = mock(IndexOperations.class);
+        when(indexOps.ensureIndex(any())).thenAnswer(invocation -> record(type, invocation.getArgument(0)));
+        return indexOps;
+    }
+
+    private String record(Class<?> type, IndexDefinition index) {
+        index.getIndexKeys().keySet().forEach(key -> created.add(type.getSimpleName() + ":" + key));
+        return String.join("_", index.getIndexKeys().keySet());
+    }
+}
@@ -0,0 +1,136 @@
+package com.unibague.gradework.orionuser.configuration;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.retry.Retry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for the Program Service retry and circuit breaker policies
+ */
+class ResilienceConfigTest {
+
+    private ResilienceConfig resilienceConfig;
+    private final AtomicInteger attempts = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        ServiceProperties properties = new ServiceProperties();
+        properties.setMaxRetries(2);
+        properties.setRetryDelay(Duration.ofMillis(1));
+        properties.setMinimumNumberOfCalls(2);
+        properties.setFailureRateThreshold(50.0);
+        resilienceConfig = new ResilienceConfig(properties);
+    }
+
+    @Test
+    void serverErrorsAreRetried() {
+        Retry retry = resilienceConfig.programServiceRetry();
+
+        assertThatThrownBy(() -> Retry.decorateSupplier(retry, failing(
+                new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE))).get())
+                .isInstanceOf(HttpServerErrorException.class);
+
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    void clientErrorsAreNotRetried() {
+        Retry retry = resilienceConfig.programServiceRetry();
+
+        assertThatThrownBy(() -> Retry.decorateSupplier(retry, failing(
+                new HttpClientErrorException(HttpStatus.NOT_FOUND))).get())
+                .isInstanceOf(HttpClientErrorException.class);
+        assertThatThrownBy(() -> Retry.decorateSupplier(retry, failing(
+                WebClientResponseException.create(400, "Bad Request", null, null, null))).get())
+                .isInstanceOf(WebClientResponseException.class);
+
+        assertThat(attempts).hasValue(2);
+    }
+
+    @Test
+    void connectFailuresAreRetried() {
+        Retry retry = resilienceConfig.programServiceRetry();
+
+        assertThatThrownBy(() -> Retry.decorateSupplier(retry, failing(
+                new ResourceAccessException("connect", new ConnectException("Connection refused")))).get())
+                .isInstanceOf(ResourceAccessException.class);
+
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    void readTimeoutsAreNotRetried() {
+        Retry retry = resilienceConfig.programServiceRetry();
+
+        assertThatThrownBy(() -> Retry.decorateSupplier(retry, failing(
+                new ResourceAccessException("read", new SocketTimeoutException("Read timed out")))).get())
+                .isInstanceOf(ResourceAccessException.class);
+
+        assertThat(attempts).hasValue(1);
+    }
+
+    @Test
+    void openCircuitIsNotRetried() {
+        Retry retry = resilienceConfig.programServiceRetry();
+        CircuitBreaker circuitBreaker = resilienceConfig.programServiceCircuitBreaker();
+        circuitBreaker.transitionToOpenState();
+
+        assertThatThrownBy(() -> Retry.decorateSupplier(retry, () -> {
+            attempts.incrementAndGet();
+            return circuitBreaker.executeSupplier(() -> "never");
+        }).get()).isInstanceOf(CallNotPermittedException.class);
+
+        assertThat(attempts).hasValue(1);
+    }
+
+    @Test
+    void clientErrorsDoNotCountAsCircuitBreakerFailures() {
+        CircuitBreaker circuitBreaker = resilienceConfig.programServiceCircuitBreaker();
+
+        for (int i = 0; i < 5; i++) {
+            assertThatThrownBy(() -> circuitBreaker.executeSupplier(failing(
+                    new HttpClientErrorException(HttpStatus.NOT_FOUND))))
+                    .isInstanceOf(HttpClientErrorException.class);
+        }
+
+        assertThat(circuitBreaker.getMetrics().getNumberOfFailedCalls()).isZero();
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void serverErrorsOpenTheCircuit() {
+        CircuitBreaker circuitBreaker = resilienceConfig.programServiceCircuitBreaker();
+
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> circuitBreaker.executeSupplier(failing(
+                    new HttpServerErrorException(HttpStatus.BAD_GATEWAY))))
+                    .isInstanceOf(HttpServerErrorException.class);
+        }
+
+        assertThat(circuitBreaker.getMetrics().getNumberOfFailedCalls()).isEqualTo(2);
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    private Supplier<String> failing(RuntimeException error) {
+        return () -> {
+            attempts.incrementAndGet();
+            throw error;
+        };
+    }
+}
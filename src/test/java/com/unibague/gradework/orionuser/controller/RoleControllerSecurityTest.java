@@ -0,0 +1,108 @@
+package com.unibague.gradework.orionuser.controller;
+
+import com.unibague.gradework.orionuser.configuration.SecurityConfig;
+import com.unibague.gradework.orionuser.security.RequestAuthenticationFilter;
+import com.unibague.gradework.orionuser.service.IAuthorizationService;
+import com.unibague.gradework.orionuser.service.IRoleService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Access rules of the role endpoints through the full security chain
+ * Pins the behaviour the service had before the header filters were merged.
+ */
+@WebMvcTest(RoleController.class)
+@Import({SecurityConfig.class, RequestAuthenticationFilter.class})
+@TestPropertySource(properties = {
+        "service-auth.token=service-auth-token",
+        "gateway.service.token=gateway-token"
+})
+class RoleControllerSecurityTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private IRoleService roleService;
+
+    @MockitoBean
+    private IAuthorizationService authorizationService;
+
+    @Test
+    void directAccessIsForbidden() throws Exception {
+        mockMvc.perform(get("/service/role")).andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/roles")).andExpect(status().isForbidden());
+    }
+
+    @Test
+    void gatewayUsersAreNotAuthenticatedForTheApiPaths() throws Exception {
+        mockMvc.perform(asGatewayUser(get("/api/roles"), "ADMIN")).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void gatewayCoordinatorCanReadRoles() throws Exception {
+        when(roleService.getAllRoles()).thenReturn(List.of());
+
+        mockMvc.perform(asGatewayUser(get("/service/role"), "COORDINATOR")).andExpect(status().isOk());
+    }
+
+    @Test
+    void serviceAuthTokenAuthenticatesTheApiPaths() throws Exception {
+        when(roleService.getAllRoles()).thenReturn(List.of());
+
+        mockMvc.perform(get("/api/roles")
+                        .header("X-Internal-Request", "true")
+                        .header("X-Service-Request", "true")
+                        .header("X-Service-Token", "service-auth-token"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void internalRequestWithBadTokenIsUnauthorizedOnTheApiPaths() throws Exception {
+        mockMvc.perform(get("/api/roles")
+                        .header("X-Internal-Request", "true")
+                        .header("X-Service-Request", "true")
+                        .header("X-Service-Token", "wrong"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void studentsCannotCheckRolePermissions() throws Exception {
+        when(roleService.hasPermission(anyString(), anyString())).thenReturn(true);
+
+        mockMvc.perform(asGatewayUser(get("/service/role/R1/permissions/MANAGE_USERS"), "STUDENT"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(asGatewayUser(get("/service/role/R1/permissions/MANAGE_USERS"), "COORDINATOR"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void studentsCannotRequestBatchAuthorizations() throws Exception {
+        mockMvc.perform(asGatewayUser(post("/service/role/authorizations"), "STUDENT")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"userId\":\"U2\",\"permission\":\"READ_PROFILE\"}]"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private static MockHttpServletRequestBuilder asGatewayUser(MockHttpServletRequestBuilder request, String role) {
+        return request
+                .header("X-Gateway-Validated", "true")
+                .header("X-User-ID", "U1")
+                .header("X-User-Role", role);
+    }
+}
@@ -0,0 +1,139 @@
+package com.unibague.gradework.orionuser.controller;
+
+import com.unibague.gradework.orionuser.configuration.SecurityConfig;
+import com.unibague.gradework.orionuser.configuration.ServiceProperties;
+import com.unibague.gradework.orionuser.model.CursorPage;
+import com.unibague.gradework.orionuser.model.ProgramDTO;
+import com.unibague.gradework.orionuser.model.StudentDTO;
+import com.unibague.gradework.orionuser.service.IRoleService;
+import com.unibague.gradework.orionuser.service.IUserImportService;
+import com.unibague.gradework.orionuser.service.IUserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.contains;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Program scoping of the student and actor listings
+ * Roles restricted to their programs get them pushed into the MongoDB query; coordinators and
+ * admins, who have access to every program, get unrestricted listings.
+ */
+@WebMvcTest(UserController.class)
+@Import(SecurityConfig.class)
+class UserControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private IUserService userService;
+
+    @MockitoBean
+    private IRoleService roleService;
+
+    @MockitoBean
+    private IUserImportService userImportService;
+
+    @MockitoBean
+    private ServiceProperties serviceProperties;
+
+    @Test
+    void restrictedRoleStudentListIsFilteredByTheirProgramsInTheQuery() throws Exception {
+        when(userService.getStudentsDTOInPrograms(Set.of("P1", "P2"))).thenReturn(List.of());
+
+        mockMvc.perform(asGatewayUser(get("/service/user/students"), "DOCENTE", "P1,P2"))
+                .andExpect(status().isOk());
+
+        verify(userService).getStudentsDTOInPrograms(Set.of("P1", "P2"));
+        verify(userService, never()).getAllStudentsDTO();
+    }
+
+    @Test
+    void restrictedRoleStudentPageIsFilteredByTheirPrograms() throws Exception {
+        when(userService.getStudentsDTOPage(any(), anyInt(), any())).thenReturn(new CursorPage<>(List.of(), null));
+
+        mockMvc.perform(asGatewayUser(get("/service/user/students").param("limit", "10"), "DOCENTE", "P1"))
+                .andExpect(status().isOk());
+
+        verify(userService).getStudentsDTOPage(isNull(), eq(10), eq(Set.of("P1")));
+    }
+
+    @Test
+    void coordinatorStudentListIsUnrestrictedLikeTheActorList() throws Exception {
+        when(userService.getAllStudentsDTO()).thenReturn(List.of());
+
+        mockMvc.perform(asGatewayUser(get("/service/user/students"), "COORDINATOR", "P1"))
+                .andExpect(status().isOk());
+
+        verify(userService).getAllStudentsDTO();
+        verify(userService, never()).getStudentsDTOInPrograms(any());
+    }
+
+    @Test
+    void pageIsFilledWhenRowsAreHiddenAndTheCursorPointsPastTheLastScannedRow() throws Exception {
+        when(userService.getStudentsDTOPage(isNull(), eq(2), isNull()))
+                .thenReturn(new CursorPage<>(List.of(student("S1"), student("S2", "P1")), "S2"));
+        when(userService.getStudentsDTOPage(eq("S2"), eq(1), isNull()))
+                .thenReturn(new CursorPage<>(List.of(student("S3", "P1")), "S3"));
+
+        // S1 no tiene programas: el coordinador no lo ve y la página se completa con S3
+        mockMvc.perform(asGatewayUser(get("/service/user/students").param("limit", "2"), "COORDINATOR", null))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].idUser").value(contains("S2", "S3")))
+                .andExpect(jsonPath("$.nextCursor").value("S3"));
+    }
+
+    @Test
+    void adminStudentListIsUnrestricted() throws Exception {
+        when(userService.getAllStudentsDTO()).thenReturn(List.of());
+
+        mockMvc.perform(asGatewayUser(get("/service/user/students"), "ADMIN", "P1"))
+                .andExpect(status().isOk());
+
+        verify(userService).getAllStudentsDTO();
+    }
+
+    @Test
+    void actorListIsUnrestrictedForCoordinators() throws Exception {
+        when(userService.getAllActorsDTO()).thenReturn(List.of());
+
+        mockMvc.perform(asGatewayUser(get("/service/user/actors"), "COORDINATOR", "P1"))
+                .andExpect(status().isOk());
+
+        verify(userService).getAllActorsDTO();
+    }
+
+    private static StudentDTO student(String id, String... programs) {
+        return StudentDTO.builder()
+                .idUser(id)
+                .programs(Arrays.stream(programs).map(program -> new ProgramDTO(program, "Programa " + program)).toList())
+                .build();
+    }
+
+    private static MockHttpServletRequestBuilder asGatewayUser(MockHttpServletRequestBuilder request,
+                                                               String role, String programs) {
+        request.header("X-Gateway-Validated", "true")
+                .header("X-User-ID", "U1")
+                .header("X-User-Role", role);
+        return programs != null ? request.header("X-User-Programs", programs) : request;
+    }
+}
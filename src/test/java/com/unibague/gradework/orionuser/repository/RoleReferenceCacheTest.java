@@ -0,0 +1,75 @@
+package com.unibague.gradework.orionuser.repository;
+
+import com.unibague.gradework.orionuser.configuration.ServiceProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for RoleReferenceCache
+ */
+class RoleReferenceCacheTest {
+
+    private RoleReferenceCache roleReferenceCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        roleReferenceCache = new RoleReferenceCache(new ServiceProperties(), new SimpleMeterRegistry());
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void cachedDocumentIsLoadedOnce() {
+        roleReferenceCache.get("R1", this::loadRole);
+        roleReferenceCache.get("R1", this::loadRole);
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void callersCannotModifyTheCachedDocument() {
+        Document loaded = roleReferenceCache.get("R1", this::loadRole);
+        loaded.put("name", "CAMBIADO");
+        loaded.getList("permisos", String.class).add("MANAGE_USERS");
+
+        Document hit = roleReferenceCache.get("R1", this::loadRole);
+        hit.getList("permisos", String.class).clear();
+
+        Document next = roleReferenceCache.get("R1", this::loadRole);
+        assertThat(next).isNotSameAs(hit);
+        assertThat(next.getString("name")).isEqualTo("ESTUDIANTE");
+        assertThat(next.getList("permisos", String.class)).containsExactly("READ_PROFILE");
+    }
+
+    @Test
+    void invalidatedRoleIsLoadedAgain() {
+        roleReferenceCache.get("R1", this::loadRole);
+        roleReferenceCache.invalidate("R1");
+        roleReferenceCache.get("R1", this::loadRole);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void missingRolesAreNotCached() {
+        assertThat(roleReferenceCache.get("R404", () -> null)).isNull();
+        roleReferenceCache.get("R404", this::loadRole);
+
+        assertThat(loads).hasValue(1);
+    }
+
+    private Document loadRole() {
+        loads.incrementAndGet();
+        return new Document("_id", "R1")
+                .append("name", "ESTUDIANTE")
+                .append("permisos", new ArrayList<>(List.of("READ_PROFILE")));
+    }
+}
@@ -0,0 +1,187 @@
+package com.unibague.gradework.orionuser.security;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for RequestAuthenticationFilter
+ * Pins the behaviour of the filters it replaced for every kind of caller.
+ */
+class RequestAuthenticationFilterTest {
+
+    private static final String SERVICE_AUTH_TOKEN = "service-auth-token";
+    private static final String GATEWAY_TOKEN = "gateway-token";
+
+    private RequestAuthenticationFilter filter;
+    private MockHttpServletResponse response;
+    private boolean chainCalled;
+    private final AtomicReference<Authentication> authenticationSeen = new AtomicReference<>();
+    private final AtomicReference<UserContext.AuthenticatedUser> userSeen = new AtomicReference<>();
+
+    @BeforeEach
+    void setUp() {
+        ServiceAuthProperties properties = new ServiceAuthProperties();
+        properties.setToken(SERVICE_AUTH_TOKEN);
+        filter = new RequestAuthenticationFilter(properties, GATEWAY_TOKEN);
+        response = new MockHttpServletResponse();
+        chainCalled = false;
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void publicPathsPassWithoutHeaders() throws Exception {
+        run(request("/actuator/health"));
+
+        assertThat(chainCalled).isTrue();
+        assertThat(authenticationSeen.get()).isNull();
+        assertThat(userSeen.get()).isNull();
+    }
+
+    @Test
+    void gatewayUserPopulatesUserContextButNotSpringSecurity() throws Exception {
+        MockHttpServletRequest request = request("/service/user/students");
+        request.addHeader("X-Gateway-Validated", "true");
+        request.addHeader("X-User-ID", "U1");
+        request.addHeader("X-User-Email", "u1@unibague.edu.co");
+        request.addHeader("X-User-Role", "coordinator");
+        request.addHeader("X-User-Programs", "P1, P2");
+
+        run(request);
+
+        assertThat(chainCalled).isTrue();
+        assertThat(authenticationSeen.get()).isNull();
+        assertThat(userSeen.get().getUserId()).isEqualTo("U1");
+        assertThat(userSeen.get().isCoordinator()).isTrue();
+        assertThat(userSeen.get().getProgramIds()).containsExactlyInAnyOrder("P1", "P2");
+        assertThat(UserContext.getCurrentUser()).isEmpty();
+    }
+
+    @Test
+    void internalRequestWithServiceAuthTokenIsAuthenticatedAsSystem() throws Exception {
+        MockHttpServletRequest request = request("/api/roles/name/ADMIN");
+        request.addHeader("X-Internal-Request", "true");
+        request.addHeader("X-Service-Request", "true");
+        request.addHeader("X-Service-Name", "orion-auth");
+        request.addHeader("X-Service-Token", SERVICE_AUTH_TOKEN);
+
+        run(request);
+
+        assertThat(chainCalled).isTrue();
+        assertThat(authenticationSeen.get().getName()).isEqualTo("system");
+        assertThat(authenticationSeen.get().isAuthenticated()).isTrue();
+        assertThat(authenticationSeen.get().getAuthorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_ADMIN");
+        assertThat(userSeen.get()).isNull();
+    }
+
+    @Test
+    void systemAuthenticationIsNotSharedBetweenRequests() throws Exception {
+        run(serviceAuthRequest());
+        Authentication first = authenticationSeen.get();
+        // Lo que podría hacer un componente posterior con el token de esta petición
+        first.setAuthenticated(false);
+        SecurityContextHolder.clearContext();
+
+        run(serviceAuthRequest());
+
+        assertThat(authenticationSeen.get()).isNotSameAs(first);
+        assertThat(authenticationSeen.get().isAuthenticated()).isTrue();
+    }
+
+    @Test
+    void internalRequestWithBadTokenPassesUnauthenticated() throws Exception {
+        MockHttpServletRequest request = request("/api/roles/name/ADMIN");
+        request.addHeader("X-Internal-Request", "true");
+        request.addHeader("X-Service-Request", "true");
+        request.addHeader("X-Service-Token", "wrong");
+
+        run(request);
+
+        // Spring Security decide después (401 en las rutas autenticadas)
+        assertThat(chainCalled).isTrue();
+        assertThat(authenticationSeen.get()).isNull();
+    }
+
+    @Test
+    void serviceRequestWithGatewayTokenPassesUnauthenticated() throws Exception {
+        MockHttpServletRequest request = request("/service/role");
+        request.addHeader("X-Service-Request", "true");
+        request.addHeader("X-Service-Token", GATEWAY_TOKEN);
+
+        run(request);
+
+        assertThat(chainCalled).isTrue();
+        assertThat(authenticationSeen.get()).isNull();
+    }
+
+    @Test
+    void serviceRequestWithBadTokenIsRejected() throws Exception {
+        MockHttpServletRequest request = request("/service/role");
+        request.addHeader("X-Service-Request", "true");
+        request.addHeader("X-Service-Token", "wrong");
+
+        run(request);
+
+        assertThat(chainCalled).isFalse();
+        assertThat(response.getStatus()).isEqualTo(403);
+    }
+
+    @Test
+    void directAccessIsRejectedWith403() throws Exception {
+        MockHttpServletRequest request = request("/service/user/students");
+        request.addHeader("X-User-ID", "U1");
+
+        run(request);
+
+        assertThat(chainCalled).isFalse();
+        assertThat(response.getStatus()).isEqualTo(403);
+        assertThat(response.getContentAsString()).contains("DIRECT_ACCESS_FORBIDDEN", "/service/user/students");
+    }
+
+    @Test
+    void gatewayHeaderWithoutUserIdLeavesUserContextEmpty() throws Exception {
+        MockHttpServletRequest request = request("/service/role");
+        request.addHeader("X-Gateway-Validated", "true");
+
+        run(request);
+
+        assertThat(chainCalled).isTrue();
+        assertThat(userSeen.get()).isNull();
+    }
+
+    private void run(MockHttpServletRequest request) throws Exception {
+        FilterChain chain = (req, res) -> {
+            chainCalled = true;
+            authenticationSeen.set(SecurityContextHolder.getContext().getAuthentication());
+            userSeen.set(UserContext.getCurrentUser().orElse(null));
+        };
+        filter.doFilter(request, response, chain);
+    }
+
+    private static MockHttpServletRequest serviceAuthRequest() {
+        MockHttpServletRequest request = request("/api/roles/name/ADMIN");
+        request.addHeader("X-Internal-Request", "true");
+        request.addHeader("X-Service-Request", "true");
+        request.addHeader("X-Service-Token", SERVICE_AUTH_TOKEN);
+        return request;
+    }
+
+    private static MockHttpServletRequest request(String path) {
+        return new MockHttpServletRequest("GET", path);
+    }
+}
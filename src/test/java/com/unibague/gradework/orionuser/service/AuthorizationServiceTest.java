@@ -0,0 +1,120 @@
+package com.unibague.gradework.orionuser.service;
+
+import com.unibague.gradework.orionuser.configuration.ServiceProperties;
+import com.unibague.gradework.orionuser.model.AuthorizationDecision;
+import com.unibague.gradework.orionuser.model.AuthorizationQuery;
+import com.unibague.gradework.orionuser.model.Role;
+import com.unibague.gradework.orionuser.model.Student;
+import com.unibague.gradework.orionuser.repository.RoleRepository;
+import com.unibague.gradework.orionuser.repository.UserStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for AuthorizationService batch decisions
+ */
+class AuthorizationServiceTest {
+
+    private UserStore userStore;
+    private AuthorizationService authorizationService;
+
+    @BeforeEach
+    void setUp() {
+        RoleRepository roleRepository = mock(RoleRepository.class);
+        when(roleRepository.findAll()).thenReturn(List.of(
+                role("R-STUDENT", "ESTUDIANTE", List.of("READ_PROFILE")),
+                role("R-ADMIN", "ADMINISTRADOR", List.of("READ_PROFILE", "MANAGE_USERS"))));
+        RoleSnapshot roleSnapshot = new RoleSnapshot(roleRepository, new PermissionRegistry(), new ServiceProperties());
+
+        userStore = mock(UserStore.class);
+        Student student = new Student();
+        student.setIdUser("U1");
+        student.setRole(role("R-STUDENT", "ESTUDIANTE", List.of("READ_PROFILE")));
+        student.setPrograms(List.of("P1"));
+        when(userStore.findAllById(anyCollection())).thenReturn(List.of(student));
+
+        authorizationService = new AuthorizationService(roleSnapshot, userStore);
+    }
+
+    @Test
+    void roleQueriesUseTheCompiledPermissions() {
+        List<AuthorizationDecision> decisions = authorizationService.decide(List.of(
+                query("R-ADMIN", null, "MANAGE_USERS", null),
+                query("R-STUDENT", null, "MANAGE_USERS", null)));
+
+        assertThat(decisions).extracting(AuthorizationDecision::isAllowed).containsExactly(true, false);
+        assertThat(decisions.get(1).getReason()).isEqualTo(AuthorizationService.MISSING_PERMISSION);
+    }
+
+    @Test
+    void userQueriesUseTheUsersRoleAndPrograms() {
+        List<AuthorizationDecision> decisions = authorizationService.decide(List.of(
+                query(null, "U1", "READ_PROFILE", "P1"),
+                query(null, "U1", "READ_PROFILE", "P2")));
+
+        assertThat(decisions).extracting(AuthorizationDecision::isAllowed).containsExactly(true, false);
+        assertThat(decisions.get(1).getReason()).isEqualTo(AuthorizationService.NOT_IN_PROGRAM);
+    }
+
+    @Test
+    void suppliedRoleThatIsNotTheUsersRoleIsDenied() {
+        List<AuthorizationDecision> decisions = authorizationService.decide(List.of(
+                query("R-ADMIN", "U1", "MANAGE_USERS", null),
+                query("R-STUDENT", "U1", "READ_PROFILE", null)));
+
+        assertThat(decisions.get(0).isAllowed()).isFalse();
+        assertThat(decisions.get(0).getReason()).isEqualTo(AuthorizationService.ROLE_MISMATCH);
+        assertThat(decisions.get(1).isAllowed()).isTrue();
+    }
+
+    @Test
+    void unknownUserIsDenied() {
+        List<AuthorizationDecision> decisions = authorizationService.decide(List.of(
+                query("R-ADMIN", "NOBODY", "READ_PROFILE", null)));
+
+        assertThat(decisions.get(0).isAllowed()).isFalse();
+        assertThat(decisions.get(0).getReason()).isEqualTo(AuthorizationService.UNKNOWN_USER);
+    }
+
+    @Test
+    void unknownRoleIsDenied() {
+        List<AuthorizationDecision> decisions = authorizationService.decide(List.of(
+                query("R-GHOST", null, "READ_PROFILE", null)));
+
+        assertThat(decisions.get(0).isAllowed()).isFalse();
+        assertThat(decisions.get(0).getReason()).isEqualTo(AuthorizationService.UNKNOWN_ROLE);
+    }
+
+    @Test
+    void userWhoseRoleWasDeletedIsDenied() {
+        Student orphan = new Student();
+        orphan.setIdUser("U2");
+        orphan.setRole(role("R-DELETED", "ANTIGUO", List.of("READ_PROFILE")));
+        when(userStore.findAllById(anyCollection())).thenReturn(List.of(orphan));
+
+        List<AuthorizationDecision> decisions = authorizationService.decide(List.of(
+                query(null, "U2", "READ_PROFILE", null)));
+
+        assertThat(decisions.get(0).getReason()).isEqualTo(AuthorizationService.UNKNOWN_ROLE);
+    }
+
+    private static AuthorizationQuery query(String roleId, String userId, String permission, String programId) {
+        return AuthorizationQuery.builder()
+                .roleId(roleId)
+                .userId(userId)
+                .permission(permission)
+                .programId(programId)
+                .build();
+    }
+
+    private static Role role(String id, String name, List<String> permissions) {
+        return Role.builder().idRole(id).name(name).permisos(permissions).build();
+    }
+}
@@ -0,0 +1,80 @@
+package com.unibague.gradework.orionuser.service;
+
+import com.unibague.gradework.orionuser.model.Actor;
+import com.unibague.gradework.orionuser.model.Student;
+import com.unibague.gradework.orionuser.repository.UserStore;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.stream.Stream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for IdentityBackfill completion tracking
+ */
+class IdentityBackfillTest {
+
+    private IdentityRegistry identityRegistry;
+    private UserStore userStore;
+    private MongoTemplate mongoTemplate;
+    private IdentityBackfill backfill;
+
+    @BeforeEach
+    void setUp() {
+        identityRegistry = mock(IdentityRegistry.class);
+        userStore = mock(UserStore.class);
+        mongoTemplate = mock(MongoTemplate.class);
+        when(userStore.stream(Student.class, null)).thenReturn(Stream.of(new Student()));
+        when(userStore.stream(Actor.class, null)).thenReturn(Stream.of(new Actor()));
+        when(identityRegistry.backfill(any())).thenReturn(new IdentityRegistry.BackfillResult(1, 0));
+        backfill = new IdentityBackfill(identityRegistry, userStore, mongoTemplate);
+    }
+
+    @Test
+    void firstRunBackfillsAndRecordsCompletion() {
+        backfill.run(new DefaultApplicationArguments());
+
+        verify(identityRegistry, times(2)).backfill(any());
+        verify(mongoTemplate).save(any(Document.class), eq(IdentityBackfill.MARKER_COLLECTION));
+    }
+
+    @Test
+    void passWithWriteFailuresIsNotRecorded() {
+        when(identityRegistry.backfill(any())).thenReturn(new IdentityRegistry.BackfillResult(1, 1));
+
+        backfill.run(new DefaultApplicationArguments());
+
+        verify(identityRegistry, times(2)).backfill(any());
+        verify(mongoTemplate, never()).save(any(Document.class), eq(IdentityBackfill.MARKER_COLLECTION));
+    }
+
+    @Test
+    void completedBackfillIsSkippedEvenIfSomeUsersWereNotRegistered() {
+        when(mongoTemplate.exists(any(Query.class), eq(IdentityBackfill.MARKER_COLLECTION))).thenReturn(true);
+
+        backfill.run(new DefaultApplicationArguments());
+
+        verify(userStore, never()).stream(any(), any());
+        verify(identityRegistry, never()).backfill(any());
+    }
+
+    @Test
+    void optionForcesAnotherRun() {
+        when(mongoTemplate.exists(any(Query.class), eq(IdentityBackfill.MARKER_COLLECTION))).thenReturn(true);
+
+        backfill.run(new DefaultApplicationArguments("--" + IdentityBackfill.OPTION));
+
+        verify(identityRegistry, times(2)).backfill(any());
+    }
+}
@@ -0,0 +1,111 @@
+package com.unibague.gradework.orionuser.service;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.unibague.gradework.orionuser.enumerator.UserType;
+import com.unibague.gradework.orionuser.model.Identity;
+import com.unibague.gradework.orionuser.model.Student;
+import com.unibague.gradework.orionuser.repository.IdentityRepository;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for IdentityRegistry key normalisation and backfill error handling
+ */
+class IdentityRegistryTest {
+
+    private IdentityRepository identityRepository;
+    private MongoTemplate mongoTemplate;
+    private IdentityRegistry identityRegistry;
+
+    @BeforeEach
+    void setUp() {
+        identityRepository = mock(IdentityRepository.class);
+        mongoTemplate = mock(MongoTemplate.class);
+        identityRegistry = new IdentityRegistry(identityRepository, mongoTemplate);
+    }
+
+    @Test
+    void registerTrimsIdAndStudentIdAndLowercasesEmail() {
+        when(identityRepository.insert(any(Identity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        identityRegistry.register(student(" 1 ", " Ana@Unibague.edu.co ", " 2020123456 "));
+
+        ArgumentCaptor<Identity> identity = ArgumentCaptor.forClass(Identity.class);
+        verify(identityRepository).insert(identity.capture());
+        assertThat(identity.getValue().getIdUser()).isEqualTo("1");
+        assertThat(identity.getValue().getEmail()).isEqualTo("ana@unibague.edu.co");
+        assertThat(identity.getValue().getStudentID()).isEqualTo("2020123456");
+        assertThat(identity.getValue().getType()).isEqualTo(UserType.STUDENT);
+    }
+
+    @Test
+    void normalizeKeysTrimsTheUserInPlace() {
+        Student student = IdentityRegistry.normalizeKeys(student(" 1 ", "a@unibague.edu.co", " 2020123456 "));
+
+        assertThat(student.getIdUser()).isEqualTo("1");
+        assertThat(student.getStudentID()).isEqualTo("2020123456");
+    }
+
+    @Test
+    void conflictLookupUsesNormalisedEmails() {
+        identityRegistry.findConflicts(List.of("1"), List.of(" Ana@Unibague.edu.co"), List.of("2020123456"));
+
+        verify(identityRepository).findByIdUserInOrEmailInOrStudentIDIn(
+                List.of("1"), List.of("ana@unibague.edu.co"), List.of("2020123456"));
+    }
+
+    @Test
+    void backfillCountsOnlyNonDuplicateKeyErrorsAsFailures() {
+        BulkOperations bulkOps = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Identity.class)).thenReturn(bulkOps);
+        when(bulkOps.insert(anyList())).thenReturn(bulkOps);
+        when(bulkOps.execute()).thenThrow(bulkFailure(1,
+                new BulkWriteError(11000, "E11000 duplicate key error collection: orion.identities index: _id_ dup key: { _id: \"1\" }",
+                        new BsonDocument(), 0),
+                new BulkWriteError(11000, "E11000 duplicate key error collection: orion.identities index: email dup key: { email: \"b@unibague.edu.co\" }",
+                        new BsonDocument(), 1),
+                // Un mensaje que menciona el índice _id_ sin ser una clave duplicada sigue siendo un fallo
+                new BulkWriteError(121, "Document failed validation (index: _id_ )", new BsonDocument(), 2)));
+
+        IdentityRegistry.BackfillResult result = identityRegistry.backfill(Stream.of(
+                student("1", "a@unibague.edu.co", "2020000001"),
+                student("2", "b@unibague.edu.co", "2020000002"),
+                student("3", "c@unibague.edu.co", "2020000003"),
+                student("4", "d@unibague.edu.co", "2020000004")));
+
+        assertThat(result).isEqualTo(new IdentityRegistry.BackfillResult(1, 1));
+    }
+
+    private static BulkOperationException bulkFailure(int inserted, BulkWriteError... errors) {
+        BulkWriteResult result = BulkWriteResult.acknowledged(inserted, 0, 0, 0, List.of(), List.of());
+        return new BulkOperationException("Bulk write operation error",
+                new MongoBulkWriteException(result, List.of(errors), null, new ServerAddress(), Set.of()));
+    }
+
+    private static Student student(String id, String email, String studentId) {
+        Student student = new Student();
+        student.setIdUser(id);
+        student.setEmail(email);
+        student.setStudentID(studentId);
+        return student;
+    }
+}
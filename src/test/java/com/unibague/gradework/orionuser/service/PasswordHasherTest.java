@@ -0,0 +1,148 @@
+package com.unibague.gradework.orionuser.service;
+
+import com.unibague.gradework.orionuser.configuration.ServiceProperties;
+import com.unibague.gradework.orionuser.exception.GlobalExceptionHandler;
+import com.unibague.gradework.orionuser.exception.UserExceptions;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for PasswordHasher
+ * One hashing thread and a one-slot queue make saturation deterministic.
+ */
+class PasswordHasherTest {
+
+    private final CountDownLatch hashing = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private SimpleMeterRegistry meterRegistry;
+    private PasswordHasher passwordHasher;
+
+    @BeforeEach
+    void setUp() {
+        PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+        when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> {
+            hashing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "hash:" + invocation.getArgument(0);
+        });
+        ServiceProperties properties = new ServiceProperties();
+        properties.setPasswordHashThreads(1);
+        properties.setPasswordHashQueueCapacity(1);
+        meterRegistry = new SimpleMeterRegistry();
+        passwordHasher = new PasswordHasher(passwordEncoder, properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        passwordHasher.shutdown();
+    }
+
+    @Test
+    void hashesInInputOrder() {
+        release.countDown();
+
+        assertThat(passwordHasher.encode("a")).isEqualTo("hash:a");
+        assertThat(passwordHasher.encodeAll(List.of("a", "b", "c"))).containsExactly("hash:a", "hash:b", "hash:c");
+    }
+
+    @Test
+    void fullQueueIsRejectedImmediately() throws Exception {
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> passwordHasher.encode("a"));
+        assertThat(hashing.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> passwordHasher.encode("b"));
+        awaitQueueDepth(1);
+
+        // Sin hilo libre ni espacio en la cola: 503 sin esperar
+        assertThatThrownBy(() -> passwordHasher.encode("c"))
+                .isInstanceOf(UserExceptions.PasswordHashingUnavailableException.class);
+        assertThatThrownBy(() -> passwordHasher.encodeAll(List.of("d", "e")))
+                .isInstanceOf(UserExceptions.PasswordHashingUnavailableException.class);
+        assertThat(meterRegistry.get("orion.password.hash.rejected").counter().count()).isEqualTo(2);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hash:a");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hash:b");
+        assertThat(passwordHasher.encode("f")).isEqualTo("hash:f");
+    }
+
+    @Test
+    void singleEncodeCompletesWhileABulkImportIsRunning() throws Exception {
+        CountDownLatch bulkHashing = new CountDownLatch(1);
+        CountDownLatch releaseBulk = new CountDownLatch(1);
+        PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+        when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> {
+            String raw = invocation.getArgument(0);
+            if (raw.startsWith("bulk-")) {
+                bulkHashing.countDown();
+                releaseBulk.await(5, TimeUnit.SECONDS);
+            }
+            return "hash:" + raw;
+        });
+        ServiceProperties properties = new ServiceProperties();
+        properties.setPasswordHashThreads(2);
+        PasswordHasher twoThreads = new PasswordHasher(passwordEncoder, properties, new SimpleMeterRegistry());
+
+        try {
+            List<String> imported = IntStream.range(0, 5 * PasswordHasher.BULK_CHUNK_SIZE)
+                    .mapToObj(i -> "bulk-" + i)
+                    .toList();
+            CompletableFuture<List<String>> bulk = CompletableFuture.supplyAsync(() -> twoThreads.encodeAll(imported));
+            assertThat(bulkHashing.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // La importación retiene como máximo threads - 1 hilos: el alta individual no espera
+            assertThat(CompletableFuture.supplyAsync(() -> twoThreads.encode("solo")).get(2, TimeUnit.SECONDS))
+                    .isEqualTo("hash:solo");
+            assertThat(bulk).isNotDone();
+
+            releaseBulk.countDown();
+            assertThat(bulk.get(5, TimeUnit.SECONDS))
+                    .containsExactlyElementsOf(imported.stream().map(raw -> "hash:" + raw).toList());
+        } finally {
+            releaseBulk.countDown();
+            twoThreads.shutdown();
+        }
+    }
+
+    @Test
+    void rejectionIsAnsweredWith503AndRetryAfter() {
+        ResponseEntity<?> response = new GlobalExceptionHandler().handlePasswordHashingUnavailable(
+                new UserExceptions.PasswordHashingUnavailableException(),
+                new ServletWebRequest(new MockHttpServletRequest("POST", "/service/user/students")));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+    }
+
+    private void awaitQueueDepth(double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (queueDepth() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(queueDepth()).isEqualTo(expected);
+    }
+
+    private double queueDepth() {
+        return meterRegistry.get("orion.password.hash.queue").gauge().value();
+    }
+}
@@ -0,0 +1,186 @@
+package com.unibague.gradework.orionuser.service;
+
+import com.unibague.gradework.orionuser.configuration.ServiceProperties;
+import com.unibague.gradework.orionuser.model.ProgramDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for ProgramCache
+ */
+class ProgramCacheTest {
+
+    private ProgramCache programCache;
+
+    @AfterEach
+    void tearDown() {
+        if (programCache != null) {
+            programCache.shutdown();
+        }
+    }
+
+    @Test
+    void loaderRunsOutsideTheCacheCompute() {
+        programCache = cache(new ServiceProperties(), false);
+
+        // Dentro de un compute de Caffeine esta carga recursiva de la misma clave fallaría ("Recursive update")
+        ProgramDTO loaded = programCache.get("P1", id -> programCache.get(id, ProgramCacheTest::program));
+
+        assertThat(loaded.getProgramId()).isEqualTo("P1");
+        assertThat(programCache.lookupAll(List.of("P1")).found()).containsKey("P1");
+    }
+
+    @Test
+    void virtualThreadModeRefreshesOnVirtualThreads() throws Exception {
+        programCache = cache(new ServiceProperties(), true);
+        AtomicReference<Thread> refreshThread = new AtomicReference<>();
+        CompletableFuture<Void> done = new CompletableFuture<>();
+
+        programCache.refreshAsync(List.of("P1"), ids -> {
+            refreshThread.set(Thread.currentThread());
+            done.complete(null);
+            return Map.of("P1", program("P1"));
+        });
+
+        done.get(5, TimeUnit.SECONDS);
+        assertThat(refreshThread.get().isVirtual()).isTrue();
+    }
+
+    @Test
+    void staleEntryIsServedWhileASingleRefreshRuns() throws Exception {
+        programCache = cache(staleImmediately(), false);
+        programCache.putAll(List.of("P1"), Map.of("P1", program("P1")));
+        AtomicInteger refreshes = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        for (int i = 0; i < 3; i++) {
+            ProgramDTO served = programCache.get("P1", id -> {
+                refreshes.incrementAndGet();
+                await(release);
+                return ProgramDTO.builder().programId(id).programName("Renombrado").build();
+            });
+            assertThat(served.getProgramName()).isEqualTo("Programa P1");
+        }
+        assertThat(programCache.lookupAll(List.of("P1")).stale()).containsExactly("P1");
+        release.countDown();
+
+        awaitProgramName("P1", "Renombrado");
+        assertThat(refreshes).hasValue(1);
+    }
+
+    @Test
+    void missingProgramsAreCachedAsNegativeEntries() {
+        programCache = cache(new ServiceProperties(), false);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(programCache.get("P404", id -> {
+            loads.incrementAndGet();
+            return null;
+        })).isNull();
+        assertThat(programCache.get("P404", ProgramCacheTest::program)).isNull();
+        programCache.putAll(List.of("P1", "P405"), Map.of("P1", program("P1")));
+
+        ProgramCache.Lookup lookup = programCache.lookupAll(List.of("P1", "P404", "P405", "P406"));
+        assertThat(loads).hasValue(1);
+        assertThat(lookup.found()).containsOnlyKeys("P1");
+        assertThat(lookup.missing()).containsExactly("P406");
+        assertThat(programCache.fallback("P404").getProgramName()).isNull();
+    }
+
+    @Test
+    void failedRefreshKeepsTheStaleEntry() throws Exception {
+        programCache = cache(staleImmediately(), false);
+        programCache.putAll(List.of("P1"), Map.of("P1", program("P1")));
+        CountDownLatch failed = new CountDownLatch(1);
+
+        programCache.refreshAsync(List.of("P1"), ids -> {
+            failed.countDown();
+            throw new IllegalStateException("program service down");
+        });
+        assertThat(failed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(programCache.lookupAll(List.of("P1")).found().get("P1").getProgramName()).isEqualTo("Programa P1");
+
+        // El ID queda libre para la siguiente recarga
+        CompletableFuture<Void> refreshed = new CompletableFuture<>();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!refreshed.isDone() && System.nanoTime() < deadline) {
+            programCache.refreshAsync(List.of("P1"), ids -> {
+                refreshed.complete(null);
+                return Map.of("P1", ProgramDTO.builder().programId("P1").programName("Renombrado").build());
+            });
+            Thread.sleep(5);
+        }
+        awaitProgramName("P1", "Renombrado");
+    }
+
+    @Test
+    void disabledCacheAlwaysLoads() {
+        ServiceProperties properties = new ServiceProperties();
+        programCache = new ProgramCache(properties, new SimpleMeterRegistry(), new MockEnvironment());
+        AtomicInteger loads = new AtomicInteger();
+
+        programCache.get("P1", id -> {
+            loads.incrementAndGet();
+            return program(id);
+        });
+        programCache.get("P1", id -> {
+            loads.incrementAndGet();
+            return program(id);
+        });
+
+        assertThat(loads).hasValue(2);
+        assertThat(programCache.lookupAll(List.of("P1")).missing()).containsExactly("P1");
+    }
+
+    /** TTL cero: toda entrada positiva está vencida pero se sigue sirviendo durante cache-stale-ttl */
+    private static ServiceProperties staleImmediately() {
+        ServiceProperties properties = new ServiceProperties();
+        properties.setCacheTtl(Duration.ZERO);
+        return properties;
+    }
+
+    private void awaitProgramName(String programId, String name) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!name.equals(programName(programId)) && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(programName(programId)).isEqualTo(name);
+    }
+
+    private String programName(String programId) {
+        ProgramDTO program = programCache.lookupAll(List.of(programId)).found().get(programId);
+        return program != null ? program.getProgramName() : null;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    static ProgramCache cache(ServiceProperties properties, boolean virtualThreads) {
+        properties.setCacheEnabled(true);
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("spring.threads.virtual.enabled", String.valueOf(virtualThreads));
+        return new ProgramCache(properties, new SimpleMeterRegistry(), environment);
+    }
+
+    static ProgramDTO program(String id) {
+        return ProgramDTO.builder().programId(id).programName("Programa " + id).build();
+    }
+}
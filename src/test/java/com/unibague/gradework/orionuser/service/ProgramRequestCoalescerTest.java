@@ -0,0 +1,141 @@
+package com.unibague.gradework.orionuser.service;
+
+import com.unibague.gradework.orionuser.model.ProgramDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for ProgramRequestCoalescer
+ */
+class ProgramRequestCoalescerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ProgramRequestCoalescer coalescer;
+    private final AtomicInteger fetches = new AtomicInteger();
+    private final CountDownLatch fetching = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new ProgramRequestCoalescer(meterRegistry);
+    }
+
+    @Test
+    void concurrentCallersShareOneFetch() throws Exception {
+        CompletableFuture<ProgramDTO> first = CompletableFuture.supplyAsync(
+                () -> coalescer.execute("P1", id -> blockingFetch(() -> program(id))));
+        assertThat(fetching.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<ProgramDTO> second = CompletableFuture.supplyAsync(
+                () -> coalescer.execute("P1", id -> blockingFetch(() -> program(id))));
+        awaitCoalesced(1);
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isSameAs(second.get(5, TimeUnit.SECONDS));
+        assertThat(fetches).hasValue(1);
+    }
+
+    @Test
+    void failureReachesEveryWaitingCaller() throws Exception {
+        CompletableFuture<ProgramDTO> first = CompletableFuture.supplyAsync(
+                () -> coalescer.execute("P1", id -> blockingFetch(() -> {
+                    throw new IllegalStateException("program service down");
+                })));
+        assertThat(fetching.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<ProgramDTO> second = CompletableFuture.supplyAsync(
+                () -> coalescer.execute("P1", id -> blockingFetch(() -> program(id))));
+        awaitCoalesced(1);
+        release.countDown();
+
+        for (CompletableFuture<ProgramDTO> caller : List.of(first, second)) {
+            assertThatThrownBy(() -> caller.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasRootCauseInstanceOf(IllegalStateException.class)
+                    .hasRootCauseMessage("program service down");
+        }
+        assertThat(fetches).hasValue(1);
+    }
+
+    @Test
+    void completedKeysAreReleased() {
+        release.countDown();
+        coalescer.execute("P1", id -> blockingFetch(() -> program(id)));
+        assertThatThrownBy(() -> coalescer.execute("P2", id -> blockingFetch(() -> {
+            throw new IllegalStateException("boom");
+        }))).isInstanceOf(IllegalStateException.class);
+
+        coalescer.execute("P1", id -> blockingFetch(() -> program(id)));
+        coalescer.execute("P2", id -> blockingFetch(() -> program(id)));
+        coalescer.executeAll(List.of("P1", "P2"), ids -> {
+            fetches.incrementAndGet();
+            return Map.of("P1", program("P1"));
+        });
+
+        assertThat(fetches).hasValue(5);
+        assertThat(coalescedCalls()).isZero();
+    }
+
+    @Test
+    void batchCallerJoinsInFlightIdsAndFetchesOnlyTheRest() throws Exception {
+        CompletableFuture<ProgramDTO> single = CompletableFuture.supplyAsync(
+                () -> coalescer.execute("P1", id -> blockingFetch(() -> program(id))));
+        assertThat(fetching.await(5, TimeUnit.SECONDS)).isTrue();
+
+        AtomicInteger batchSize = new AtomicInteger();
+        CompletableFuture<Map<String, ProgramDTO>> batch = CompletableFuture.supplyAsync(
+                () -> coalescer.executeAll(List.of("P1", "P2", "P3"), ids -> {
+                    batchSize.set(ids.size());
+                    return Map.of("P2", program("P2"));
+                }));
+        awaitCoalesced(1);
+        release.countDown();
+
+        // P3 no existe: no aparece en el resultado
+        assertThat(batch.get(5, TimeUnit.SECONDS)).containsOnlyKeys("P1", "P2");
+        assertThat(batchSize).hasValue(2);
+        assertThat(single.get(5, TimeUnit.SECONDS).getProgramId()).isEqualTo("P1");
+    }
+
+    private ProgramDTO blockingFetch(Supplier<ProgramDTO> result) {
+        fetches.incrementAndGet();
+        fetching.countDown();
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return result.get();
+    }
+
+    /** Espera a que el segundo llamador se haya unido a la petición en curso */
+    private void awaitCoalesced(double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (coalescedCalls() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(coalescedCalls()).isEqualTo(expected);
+    }
+
+    private double coalescedCalls() {
+        return meterRegistry.get("orion.program.requests.coalesced").counter().count();
+    }
+
+    private static ProgramDTO program(String id) {
+        return ProgramDTO.builder().programId(id).programName("Programa " + id).build();
+    }
+}
@@ -0,0 +1,155 @@
+package com.unibague.gradework.orionuser.service;
+
+import com.sun.net.httpserver.HttpServer;
+import com.unibague.gradework.orionuser.configuration.ResilienceConfig;
+import com.unibague.gradework.orionuser.configuration.RestTemplateConfig;
+import com.unibague.gradework.orionuser.configuration.ServiceProperties;
+import com.unibague.gradework.orionuser.model.ProgramDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.test.web.client.ResponseCreator;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+/**
+ * Unit tests for ProgramService against a stubbed Program Service
+ */
+class ProgramServiceTest {
+
+    private static final String URL = "http://programs.test/service/program";
+
+    private ServiceProperties properties;
+    private RestTemplate restTemplate;
+    private MockRestServiceServer server;
+    private ProgramCache programCache;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ServiceProperties();
+        properties.setProgramServiceUrl(URL);
+        properties.setRetryDelay(Duration.ofMillis(1));
+        restTemplate = new RestTemplate();
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (programCache != null) {
+            programCache.shutdown();
+        }
+    }
+
+    @Test
+    void bulkEndpointIsProbedAgainAfterTheRecheckInterval() {
+        properties.setBulkEndpointRecheckInterval(Duration.ZERO);
+        ProgramService programService = programService();
+
+        server.expect(requestTo(URL + "/batch")).andExpect(method(HttpMethod.POST))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND));
+        server.expect(requestTo(URL + "/P1")).andExpect(method(HttpMethod.GET))
+                .andRespond(json("{\"programId\":\"P1\",\"programName\":\"Programa P1\"}"));
+        server.expect(requestTo(URL + "/batch")).andExpect(method(HttpMethod.POST))
+                .andRespond(json("[{\"programId\":\"P1\",\"programName\":\"Programa P1\"}]"));
+
+        assertThat(programService.getProgramsByIds(List.of("P1"))).containsKey("P1");
+        assertThat(programService.getProgramsByIds(List.of("P1"))).containsKey("P1");
+
+        server.verify();
+    }
+
+    @Test
+    void singleLookupsAreUsedWithinTheRecheckInterval() {
+        ProgramService programService = programService();
+
+        server.expect(requestTo(URL + "/batch")).andExpect(method(HttpMethod.POST))
+                .andRespond(withStatus(HttpStatus.METHOD_NOT_ALLOWED));
+        server.expect(requestTo(URL + "/P1")).andExpect(method(HttpMethod.GET))
+                .andRespond(json("{\"programId\":\"P1\",\"programName\":\"Programa P1\"}"));
+        server.expect(requestTo(URL + "/P2")).andExpect(method(HttpMethod.GET))
+                .andRespond(json("{\"programId\":\"P2\",\"programName\":\"Programa P2\"}"));
+
+        Map<String, ProgramDTO> first = programService.getProgramsByIds(List.of("P1"));
+        Map<String, ProgramDTO> second = programService.getProgramsByIds(List.of("P2"));
+
+        assertThat(first).containsKey("P1");
+        assertThat(second).containsKey("P2");
+        server.verify();
+    }
+
+    @Test
+    void readTimeoutIsNotRetried() throws Exception {
+        AtomicInteger requests = new AtomicInteger();
+        HttpServer slowServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        ExecutorService serverThreads = Executors.newCachedThreadPool();
+        slowServer.setExecutor(serverThreads);
+        slowServer.createContext("/service/program", exchange -> {
+            requests.incrementAndGet();
+            try {
+                Thread.sleep(5_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                exchange.close();
+            }
+        });
+        slowServer.start();
+
+        properties.setProgramServiceUrl("http://localhost:" + slowServer.getAddress().getPort() + "/service/program");
+        properties.setReadTimeout(Duration.ofSeconds(1));
+        properties.setMaxRetries(3);
+        properties.setRetryDelay(Duration.ofMillis(100));
+        RestTemplateConfig restTemplateConfig = new RestTemplateConfig(properties);
+        restTemplate = restTemplateConfig.restTemplate(new RestTemplateBuilder(), restTemplateConfig.httpClient(
+                restTemplateConfig.httpConnectionManager(new SimpleMeterRegistry())));
+
+        try {
+            long start = System.nanoTime();
+            ProgramDTO program = programService().getProgramDetails("P1");
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+            // Peor caso: un solo read-timeout (1s); antes eran (max-retries + 1) x read-timeout más el backoff (> 4s)
+            assertThat(program.getProgramName()).isNull();
+            assertThat(requests).hasValue(1);
+            assertThat(elapsed).isLessThan(Duration.ofSeconds(3));
+        } finally {
+            slowServer.stop(0);
+            serverThreads.shutdownNow();
+        }
+    }
+
+    private ProgramService programService() {
+        MockEnvironment environment = new MockEnvironment();
+        ResilienceConfig resilienceConfig = new ResilienceConfig(properties);
+        programCache = new ProgramCache(properties, new SimpleMeterRegistry(), environment);
+        return new ProgramService(restTemplate, properties, programCache,
+                new ProgramRequestCoalescer(new SimpleMeterRegistry()),
+                resilienceConfig.programServiceCircuitBreaker(),
+                resilienceConfig.programServiceRetry(),
+                environment);
+    }
+
+    private static ResponseCreator json(String body) {
+        return withSuccess(body, MediaType.APPLICATION_JSON);
+    }
+}
@@ -0,0 +1,141 @@
+package com.unibague.gradework.orionuser.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.unibague.gradework.orionuser.configuration.ResilienceConfig;
+import com.unibague.gradework.orionuser.configuration.ServiceProperties;
+import com.unibague.gradework.orionuser.configuration.WebClientConfig;
+import com.unibague.gradework.orionuser.model.ProgramDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.context.ConfigurationPropertiesAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the WebClient-based Program Service client (orion.services.program-client=webclient)
+ * Runs against a local HTTP stub of the Program Service that answers POST /batch after a fixed delay.
+ */
+class ReactiveProgramServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final AtomicInteger batchCalls = new AtomicInteger();
+    private volatile long responseDelayMillis;
+
+    private HttpServer server;
+    private ExecutorService serverThreads;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        serverThreads = Executors.newCachedThreadPool();
+        server.setExecutor(serverThreads);
+        server.createContext("/service/program/batch", this::handleBatch);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+
+    @Test
+    void webclientIsSelectedAndFanOutIsBoundedByMaxConcurrency() {
+        responseDelayMillis = 100;
+
+        contextRunner("orion.services.max-concurrency=3", "orion.services.program-batch-size=1")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(IProgramService.class);
+                    assertThat(context).doesNotHaveBean(ProgramService.class);
+                    IProgramService programService = context.getBean(IProgramService.class);
+                    assertThat(programService).isInstanceOf(ReactiveProgramService.class);
+
+                    List<String> ids = IntStream.range(0, 12).mapToObj(i -> "P" + i).toList();
+                    Map<String, ProgramDTO> resolved = programService.getProgramsByIds(ids);
+
+                    assertThat(resolved).containsOnlyKeys(ids);
+                    assertThat(batchCalls).hasValue(12);
+                    assertThat(maxInFlight.get()).isBetween(2, 3);
+                });
+    }
+
+    @Test
+    void lookupIsCappedByRequestTimeout() {
+        responseDelayMillis = 3_000;
+
+        contextRunner("orion.services.request-timeout=300ms", "orion.services.max-retries=0")
+                .run(context -> {
+                    IProgramService programService = context.getBean(IProgramService.class);
+
+                    long start = System.nanoTime();
+                    Map<String, ProgramDTO> resolved = programService.getProgramsByIds(List.of("P1", "P2"));
+                    Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+                    // Fallback: solo el ID, sin nombre, dentro del request-timeout y no del delay del stub
+                    assertThat(resolved.get("P1").getProgramName()).isNull();
+                    assertThat(resolved.get("P2").getProgramName()).isNull();
+                    assertThat(elapsed).isLessThan(Duration.ofMillis(1_500));
+                });
+    }
+
+    private ApplicationContextRunner contextRunner(String... properties) {
+        return new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(ConfigurationPropertiesAutoConfiguration.class))
+                .withUserConfiguration(ServiceProperties.class, ResilienceConfig.class, WebClientConfig.class,
+                        ProgramCache.class, ProgramRequestCoalescer.class,
+                        ProgramService.class, ReactiveProgramService.class)
+                .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+                .withBean(WebClient.Builder.class, WebClient::builder)
+                .withPropertyValues(
+                        "orion.services.program-client=webclient",
+                        "orion.services.program-service-url=http://localhost:" + server.getAddress().getPort() + "/service/program",
+                        "orion.services.retry-delay=1ms")
+                .withPropertyValues(properties);
+    }
+
+    private void handleBatch(HttpExchange exchange) throws IOException {
+        batchCalls.incrementAndGet();
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            String[] ids = objectMapper.readValue(exchange.getRequestBody(), String[].class);
+            Thread.sleep(responseDelayMillis);
+
+            List<ProgramDTO> programs = Arrays.stream(ids)
+                    .map(id -> new ProgramDTO(id, "Programa " + id))
+                    .toList();
+            byte[] body = objectMapper.writeValueAsString(programs).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            // el cliente ya abandonó la petición por timeout
+        } finally {
+            inFlight.decrementAndGet();
+            exchange.close();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.unibague.gradework.orionuser.service;
+
+import com.unibague.gradework.orionuser.configuration.ServiceProperties;
+import com.unibague.gradework.orionuser.model.Role;
+import com.unibague.gradework.orionuser.repository.RoleReferenceCache;
+import com.unibague.gradework.orionuser.repository.RoleRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for RoleService writes
+ * Every write must drop the cached role reference and publish a new snapshot.
+ */
+class RoleServiceTest {
+
+    private RoleRepository roleRepository;
+    private RoleReferenceCache roleReferenceCache;
+    private RoleService roleService;
+    private Role stored;
+    private final AtomicInteger referenceLoads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        roleRepository = mock(RoleRepository.class);
+        stored = Role.builder().idRole("R1").name("ESTUDIANTE").permisos(new ArrayList<>(List.of("READ_PROFILE"))).build();
+        when(roleRepository.findById("R1")).thenAnswer(invocation -> Optional.of(copy(stored)));
+        when(roleRepository.findAll()).thenAnswer(invocation -> List.of(copy(stored)));
+        when(roleRepository.save(any(Role.class))).thenAnswer(invocation -> {
+            stored = copy(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        when(roleRepository.existsById("R1")).thenReturn(true);
+
+        ServiceProperties properties = new ServiceProperties();
+        roleReferenceCache = new RoleReferenceCache(properties, new SimpleMeterRegistry());
+        RoleSnapshot roleSnapshot = new RoleSnapshot(roleRepository, new PermissionRegistry(), properties);
+        roleService = new RoleService(roleRepository, roleReferenceCache, roleSnapshot);
+    }
+
+    @Test
+    void addingAPermissionInvalidatesTheCachedReferenceAndSnapshot() {
+        assertThat(roleService.hasPermission("R1", "MANAGE_USERS")).isFalse();
+        resolveReference();
+
+        roleService.addPermissionToRole("R1", "MANAGE_USERS");
+
+        assertThat(resolveReference().getList("permisos", String.class)).contains("MANAGE_USERS");
+        assertThat(referenceLoads).hasValue(2);
+        assertThat(roleService.hasPermission("R1", "MANAGE_USERS")).isTrue();
+    }
+
+    @Test
+    void updatingARoleInvalidatesTheCachedReference() {
+        resolveReference();
+
+        roleService.updateRole("R1", Role.builder().name("EGRESADO").build());
+
+        assertThat(resolveReference().getString("name")).isEqualTo("EGRESADO");
+        assertThat(roleService.getRoleById("R1")).map(Role::getName).contains("EGRESADO");
+    }
+
+    @Test
+    void deletingARoleInvalidatesTheCachedReference() {
+        resolveReference();
+        when(roleRepository.findAll()).thenReturn(List.of());
+
+        roleService.deleteRole("R1");
+        resolveReference();
+
+        assertThat(referenceLoads).hasValue(2);
+        assertThat(roleService.getRoleById("R1")).isEmpty();
+    }
+
+    /** Simula la resolución del DBRef User.role a través de la caché */
+    private Document resolveReference() {
+        return roleReferenceCache.get("R1", () -> {
+            referenceLoads.incrementAndGet();
+            return new Document("_id", stored.getIdRole())
+                    .append("name", stored.getName())
+                    .append("permisos", new ArrayList<>(stored.getPermisos()));
+        });
+    }
+
+    private static Role copy(Role role) {
+        return Role.builder().idRole(role.getIdRole()).name(role.getName())
+                .permisos(new ArrayList<>(role.getPermisos())).build();
+    }
+}
@@ -0,0 +1,117 @@
+package com.unibague.gradework.orionuser.service;
+
+import com.unibague.gradework.orionuser.configuration.ServiceProperties;
+import com.unibague.gradework.orionuser.model.Role;
+import com.unibague.gradework.orionuser.repository.RoleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for RoleSnapshot reloads
+ */
+class RoleSnapshotTest {
+
+    private RoleRepository roleRepository;
+    private RoleSnapshot roleSnapshot;
+
+    @BeforeEach
+    void setUp() {
+        roleRepository = mock(RoleRepository.class);
+        ServiceProperties properties = new ServiceProperties();
+        // TTL cero: cada lectura encuentra la copia vencida
+        properties.setRoleCacheTtl(Duration.ZERO);
+        roleSnapshot = new RoleSnapshot(roleRepository, new PermissionRegistry(), properties);
+    }
+
+    @Test
+    void expiredSnapshotIsReloaded() {
+        when(roleRepository.findAll())
+                .thenReturn(List.of(role("R1", List.of("READ_PROFILE"))))
+                .thenReturn(List.of(role("R1", List.of("READ_PROFILE", "MANAGE_USERS"))));
+
+        assertThat(roleSnapshot.hasPermission("R1", "MANAGE_USERS")).contains(false);
+        assertThat(roleSnapshot.hasPermission("R1", "MANAGE_USERS")).contains(true);
+    }
+
+    @Test
+    void nullPermissionEntriesAreDropped() {
+        when(roleRepository.findAll()).thenReturn(List.of(role("R1", Arrays.asList("READ_PROFILE", null))));
+
+        assertThat(roleSnapshot.findById("R1")).get()
+                .extracting(Role::getPermisos)
+                .isEqualTo(List.of("READ_PROFILE"));
+        assertThat(roleSnapshot.hasPermission("R1", "READ_PROFILE")).contains(true);
+    }
+
+    @Test
+    void explicitReloadReplacesTheSnapshot() {
+        ServiceProperties properties = new ServiceProperties();
+        roleSnapshot = new RoleSnapshot(roleRepository, new PermissionRegistry(), properties);
+        when(roleRepository.findAll())
+                .thenReturn(List.of(role("R1", List.of())))
+                .thenReturn(List.of());
+
+        assertThat(roleSnapshot.findById("R1")).isPresent();
+        assertThat(roleSnapshot.findById("R1")).isPresent();
+        roleSnapshot.reload();
+
+        assertThat(roleSnapshot.findById("R1")).isEmpty();
+        verify(roleRepository, times(2)).findAll();
+    }
+
+    @Test
+    void onlyOneThreadReloadsWhileOthersServeThePreviousSnapshot() throws Exception {
+        CountDownLatch reloading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(roleRepository.findAll())
+                .thenReturn(List.of(role("R1", List.of("READ_PROFILE"))))
+                .thenAnswer(invocation -> {
+                    reloading.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return List.of(role("R1", List.of("READ_PROFILE", "MANAGE_USERS")));
+                });
+        roleSnapshot.findAll();
+
+        CompletableFuture<Optional<Boolean>> reloader =
+                CompletableFuture.supplyAsync(() -> roleSnapshot.hasPermission("R1", "MANAGE_USERS"));
+        assertThat(reloading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Mientras la recarga está en curso, las demás lecturas no esperan ni consultan Mongo
+        assertThat(roleSnapshot.hasPermission("R1", "MANAGE_USERS")).contains(false);
+        assertThat(roleSnapshot.hasPermission("R1", "READ_PROFILE")).contains(true);
+
+        release.countDown();
+        assertThat(reloader.get(5, TimeUnit.SECONDS)).contains(true);
+        verify(roleRepository, times(2)).findAll();
+    }
+
+    @Test
+    void failedReloadKeepsServingThePreviousSnapshot() {
+        when(roleRepository.findAll())
+                .thenReturn(List.of(role("R1", List.of("READ_PROFILE"))))
+                .thenThrow(new DataAccessResourceFailureException("timeout"));
+
+        roleSnapshot.findAll();
+
+        assertThat(roleSnapshot.hasPermission("R1", "READ_PROFILE")).contains(true);
+    }
+
+    private static Role role(String id, List<String> permissions) {
+        return Role.builder().idRole(id).name("ROL_" + id).permisos(permissions).build();
+    }
+}
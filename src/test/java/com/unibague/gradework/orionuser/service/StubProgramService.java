@@ -0,0 +1,77 @@
+package com.unibague.gradework.orionuser.service;
+
+import com.unibague.gradework.orionuser.model.ProgramDTO;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory IProgramService for tests
+ * Supports bulk lookups and records how many remote-equivalent calls were made
+ */
+public class StubProgramService implements IProgramService {
+
+    private final Map<String, ProgramDTO> catalog = new HashMap<>();
+    private final List<List<String>> bulkRequests = new ArrayList<>();
+    private final AtomicInteger singleRequests = new AtomicInteger();
+
+    public StubProgramService withProgram(String programId, String programName) {
+        catalog.put(programId, new ProgramDTO(programId, programName));
+        return this;
+    }
+
+    @Override
+    public List<ProgramDTO> getProgramById(List<String> programIds) {
+        if (programIds == null || programIds.isEmpty()) {
+            return List.of();
+        }
+        Map<String, ProgramDTO> resolved = getProgramsByIds(programIds);
+        return programIds.stream().map(resolved::get).filter(Objects::nonNull).toList();
+    }
+
+    @Override
+    public ProgramDTO getProgramDetails(String programId) {
+        singleRequests.incrementAndGet();
+        return catalog.get(programId);
+    }
+
+    @Override
+    public Map<String, ProgramDTO> getProgramsByIds(Collection<String> programIds) {
+        List<String> distinctIds = new ArrayList<>(new LinkedHashSet<>(programIds));
+        bulkRequests.add(distinctIds);
+
+        Map<String, ProgramDTO> result = new HashMap<>();
+        for (String id : distinctIds) {
+            ProgramDTO program = catalog.get(id);
+            if (program != null) {
+                result.put(id, program);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public int refreshCatalog() {
+        return catalog.size();
+    }
+
+    @Override
+    public void evictPrograms(Collection<String> programIds) {
+        // nada que invalidar: el stub no tiene cache
+    }
+
+    /** IDs sent on each bulk call, in call order */
+    public List<List<String>> getBulkRequests() {
+        return bulkRequests;
+    }
+
+    public int getSingleRequestCount() {
+        return singleRequests.get();
+    }
+}
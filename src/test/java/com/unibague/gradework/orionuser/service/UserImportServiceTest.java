@@ -0,0 +1,102 @@
+package com.unibague.gradework.orionuser.service;
+
+import com.unibague.gradework.orionuser.enumerator.ImportStatus;
+import com.unibague.gradework.orionuser.model.ImportReport;
+import com.unibague.gradework.orionuser.model.ImportRowResult;
+import com.unibague.gradework.orionuser.model.Role;
+import com.unibague.gradework.orionuser.model.Student;
+import com.unibague.gradework.orionuser.repository.UserStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for UserImportService
+ * Focus on keeping the identity registry consistent with the inserted users.
+ */
+class UserImportServiceTest {
+
+    private UserStore userStore;
+    private IdentityRegistry identityRegistry;
+    private UserImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        userStore = mock(UserStore.class);
+        identityRegistry = mock(IdentityRegistry.class);
+        RoleSnapshot roleSnapshot = mock(RoleSnapshot.class);
+        when(roleSnapshot.findById("R1")).thenReturn(Optional.of(Role.builder().idRole("R1").name("ESTUDIANTE").build()));
+        PasswordHasher passwordHasher = mock(PasswordHasher.class);
+        when(passwordHasher.encodeAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(identityRegistry.registerAll(anyList())).thenReturn(Map.of());
+        importService = new UserImportService(userStore, identityRegistry, roleSnapshot,
+                mock(IValidationService.class), passwordHasher);
+    }
+
+    @Test
+    void createsRowsAndReleasesIdentitiesOfRowsThatFailToInsert() {
+        when(userStore.insertAll(anyList())).thenReturn(Map.of(1, "write error"));
+
+        ImportReport report = importService.importStudents(List.of(
+                student("1", "a@unibague.edu.co", "2020000001"),
+                student("2", "b@unibague.edu.co", "2020000002")));
+
+        assertThat(report.getRows()).extracting(ImportRowResult::getStatus)
+                .containsExactly(ImportStatus.CREATED, ImportStatus.FAILED);
+        verify(identityRegistry).unregisterAll(List.of("2"));
+    }
+
+    @Test
+    void failedBulkInsertReleasesEveryIdentityOfTheBatch() {
+        when(userStore.insertAll(anyList())).thenThrow(new DataAccessResourceFailureException("timeout"));
+
+        assertThatThrownBy(() -> importService.importStudents(List.of(
+                student("1", "a@unibague.edu.co", "2020000001"),
+                student("2", "b@unibague.edu.co", "2020000002"))))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+
+        verify(identityRegistry).unregisterAll(List.of("1", "2"));
+    }
+
+    @Test
+    void keysAreTrimmedBeforeDuplicateChecksAndInsert() {
+        when(userStore.insertAll(anyList())).thenReturn(Map.of());
+        Student padded = student(" 1 ", "a@unibague.edu.co", " 2020000001 ");
+
+        ImportReport report = importService.importStudents(List.of(
+                padded,
+                student("1", "c@unibague.edu.co", "2020000003"),
+                student("3", "d@unibague.edu.co", "2020000001")));
+
+        assertThat(padded.getIdUser()).isEqualTo("1");
+        assertThat(padded.getStudentID()).isEqualTo("2020000001");
+        assertThat(report.getRows()).extracting(ImportRowResult::getStatus)
+                .containsExactly(ImportStatus.CREATED, ImportStatus.DUPLICATE, ImportStatus.DUPLICATE);
+        verify(identityRegistry).findConflicts(
+                argThat(ids -> ids.contains("1")), anyCollection(),
+                argThat(ids -> ids.contains("2020000001")));
+        verify(identityRegistry).registerAll(List.of(padded));
+    }
+
+    private static Student student(String id, String email, String studentId) {
+        Student student = new Student();
+        student.setIdUser(id);
+        student.setEmail(email);
+        student.setStudentID(studentId);
+        student.setRole(Role.builder().idRole("R1").build());
+        return student;
+    }
+}
@@ -0,0 +1,266 @@
+package com.unibague.gradework.orionuser.service;
+
+import com.unibague.gradework.orionuser.enumerator.CredentialType;
+import com.unibague.gradework.orionuser.exception.UserExceptions;
+import com.unibague.gradework.orionuser.model.Actor;
+import com.unibague.gradework.orionuser.model.ActorDTO;
+import com.unibague.gradework.orionuser.model.ActorLogDTO;
+import com.unibague.gradework.orionuser.model.CursorPage;
+import com.unibague.gradework.orionuser.model.ProgramDTO;
+import com.unibague.gradework.orionuser.model.Student;
+import com.unibague.gradework.orionuser.model.StudentDTO;
+import com.unibague.gradework.orionuser.model.StudentLogDTO;
+import com.unibague.gradework.orionuser.model.UserLogDTO;
+import com.unibague.gradework.orionuser.repository.ActorRepository;
+import com.unibague.gradework.orionuser.repository.SplitUserStore;
+import com.unibague.gradework.orionuser.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for UserService DTO building
+ * Verifies that program resolution is batched per list instead of per user
+ */
+class UserServiceTest {
+
+    private StudentRepository studentRepository;
+    private ActorRepository actorRepository;
+    private StubProgramService programService;
+    private IdentityRegistry identityRegistry;
+    private PasswordHasher passwordHasher;
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository = mock(StudentRepository.class);
+        actorRepository = mock(ActorRepository.class);
+        programService = new StubProgramService()
+                .withProgram("P1", "Ingeniería de Sistemas")
+                .withProgram("P2", "Ingeniería Electrónica");
+        identityRegistry = mock(IdentityRegistry.class);
+        passwordHasher = mock(PasswordHasher.class);
+        userService = new UserService(programService,
+                new SplitUserStore(studentRepository, actorRepository, mock(MongoTemplate.class)),
+                passwordHasher, mock(IValidationService.class), identityRegistry);
+    }
+
+    @Test
+    void getAllStudentsDTOResolvesProgramsInOneDeduplicatedBulkCall() {
+        when(studentRepository.findAll()).thenReturn(List.of(
+                student("1", List.of("P1", "P2")),
+                student("2", List.of("P2", "P1")),
+                student("3", List.of("P1", "MISSING")),
+                student("4", null)));
+
+        List<StudentDTO> students = userService.getAllStudentsDTO();
+
+        assertThat(programService.getBulkRequests()).hasSize(1);
+        assertThat(programService.getBulkRequests().get(0)).containsExactly("P1", "P2", "MISSING");
+        assertThat(programService.getSingleRequestCount()).isZero();
+
+        assertThat(students).hasSize(4);
+        assertThat(students.get(1).getPrograms()).extracting(ProgramDTO::getProgramId).containsExactly("P2", "P1");
+        assertThat(students.get(2).getPrograms()).extracting(ProgramDTO::getProgramId).containsExactly("P1");
+        assertThat(students.get(3).getPrograms()).isEmpty();
+    }
+
+    @Test
+    void getAllActorsDTOResolvesProgramsInOneBulkCall() {
+        Actor actor = new Actor();
+        actor.setIdUser("A1");
+        actor.setPosition("Docente");
+        actor.setPrograms(List.of("P2"));
+        when(actorRepository.findAll()).thenReturn(List.of(actor));
+
+        List<ActorDTO> actors = userService.getAllActorsDTO();
+
+        assertThat(programService.getBulkRequests()).hasSize(1);
+        assertThat(actors.get(0).getPrograms()).extracting(ProgramDTO::getProgramName)
+                .containsExactly("Ingeniería Electrónica");
+    }
+
+    @Test
+    void getStudentsDTOPageReturnsCursorWhenMoreRowsExist() {
+        when(studentRepository.findAllBy(any(Pageable.class))).thenReturn(List.of(
+                student("1", List.of("P1")),
+                student("2", List.of("P2")),
+                student("3", List.of("P1"))));
+
+        CursorPage<StudentDTO> page = userService.getStudentsDTOPage(null, 2, null);
+
+        assertThat(page.getItems()).extracting(StudentDTO::getIdUser).containsExactly("1", "2");
+        assertThat(page.getNextCursor()).isEqualTo("2");
+        assertThat(programService.getBulkRequests().get(0)).containsExactly("P1", "P2");
+    }
+
+    @Test
+    void getStudentsDTOPageHasNoCursorOnLastPage() {
+        when(studentRepository.findByIdUserGreaterThan(eq("2"), any(Pageable.class)))
+                .thenReturn(List.of(student("3", List.of("P1"))));
+
+        CursorPage<StudentDTO> page = userService.getStudentsDTOPage("2", 2, null);
+
+        assertThat(page.getItems()).extracting(StudentDTO::getIdUser).containsExactly("3");
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void getStudentsDTOPageFiltersByProgramsInTheQuery() {
+        when(studentRepository.findByProgramsIn(eq(Set.of("P2")), any(Pageable.class)))
+                .thenReturn(List.of(student("2", List.of("P2"))));
+
+        CursorPage<StudentDTO> page = userService.getStudentsDTOPage(null, 10, Set.of("P2"));
+
+        assertThat(page.getItems()).extracting(StudentDTO::getIdUser).containsExactly("2");
+        verify(studentRepository, never()).findAllBy(any(Pageable.class));
+    }
+
+    @Test
+    void getStudentsDTOInProgramsSkipsQueryForEmptyScope() {
+        assertThat(userService.getStudentsDTOInPrograms(Set.of())).isEmpty();
+        verify(studentRepository, never()).findByProgramsIn(any());
+        assertThat(programService.getBulkRequests()).isEmpty();
+    }
+
+    @Test
+    void exportStudentsDTOResolvesProgramsPerBatch() {
+        when(studentRepository.streamAllBy()).thenReturn(IntStream.range(0, 450)
+                .mapToObj(i -> student(String.valueOf(i), List.of(i % 2 == 0 ? "P1" : "P2"))));
+
+        List<StudentDTO> exported = new ArrayList<>();
+        userService.exportStudentsDTO(null, exported::add);
+
+        assertThat(exported).hasSize(450);
+        assertThat(exported.get(449).getPrograms()).extracting(ProgramDTO::getProgramId).containsExactly("P2");
+        assertThat(programService.getBulkRequests()).hasSize(3);
+    }
+
+    @Test
+    void createStudentMapsStudentIdIndexViolation() {
+        Student student = student("1", List.of("P1"));
+        student.setStudentID("2020123456");
+        when(studentRepository.insert(student)).thenThrow(new DuplicateKeyException(
+                "E11000 duplicate key error collection: orion.students index: studentID dup key: { studentID: \"2020123456\" }"));
+
+        assertThatThrownBy(() -> userService.createStudent(student))
+                .isInstanceOf(UserExceptions.DuplicateStudentException.class)
+                .hasMessageContaining("2020123456");
+        verify(identityRegistry).unregister("1");
+    }
+
+    @Test
+    void createActorMapsIdIndexViolation() {
+        Actor actor = new Actor();
+        actor.setIdUser("A1");
+        actor.setEmail("docente@unibague.edu.co");
+        when(actorRepository.insert(actor)).thenThrow(new DuplicateKeyException(
+                "E11000 duplicate key error collection: orion.actors index: _id_ dup key: { _id: \"A1\" }"));
+
+        assertThatThrownBy(() -> userService.createActor(actor))
+                .isInstanceOf(UserExceptions.DuplicateUserException.class)
+                .hasMessageContaining("ID 'A1'");
+    }
+
+    @Test
+    void createActorIsRejectedByIdentityRegistryBeforeInsert() {
+        Actor actor = new Actor();
+        actor.setIdUser("A2");
+        actor.setEmail("estudiante@unibague.edu.co");
+        when(identityRegistry.register(actor))
+                .thenThrow(new UserExceptions.DuplicateUserException("estudiante@unibague.edu.co"));
+
+        assertThatThrownBy(() -> userService.createActor(actor))
+                .isInstanceOf(UserExceptions.DuplicateUserException.class);
+        verify(actorRepository, never()).insert(any(Actor.class));
+    }
+
+    @Test
+    void createStudentWithoutPasswordIsFederatedAndSkipsHashing() {
+        Student student = student("1", List.of("P1"));
+        when(studentRepository.insert(student)).thenReturn(student);
+
+        Student created = userService.createStudent(student);
+
+        assertThat(created.getCredentialType()).isEqualTo(CredentialType.FEDERATED);
+        assertThat(created.getPassword()).isEqualTo(CredentialType.FEDERATED_PASSWORD);
+        verify(passwordHasher, never()).encode(any());
+    }
+
+    @Test
+    void createStudentStoresTrimmedIdAndStudentId() {
+        Student student = student(" 1 ", List.of("P1"));
+        student.setStudentID(" 2020123456 ");
+        when(studentRepository.insert(student)).thenReturn(student);
+
+        userService.createStudent(student);
+
+        assertThat(student.getIdUser()).isEqualTo("1");
+        assertThat(student.getStudentID()).isEqualTo("2020123456");
+        verify(identityRegistry).register(student);
+    }
+
+    @Test
+    void findUserByEmailFallsBackToActors() {
+        Actor actor = new Actor();
+        actor.setIdUser("A1");
+        actor.setEmail("docente@unibague.edu.co");
+        actor.setPrograms(List.of("P1"));
+        when(studentRepository.findByEmail("docente@unibague.edu.co")).thenReturn(Optional.empty());
+        when(actorRepository.findByEmail("docente@unibague.edu.co")).thenReturn(Optional.of(actor));
+
+        Optional<UserLogDTO> found = userService.findUserByEmail("docente@unibague.edu.co");
+
+        assertThat(found).get().isInstanceOf(ActorLogDTO.class);
+        assertThat(found.get().getPrograms()).extracting(ProgramDTO::getProgramId).containsExactly("P1");
+    }
+
+    @Test
+    void studentLookupsNeedASingleRead() {
+        Student student = student("1", List.of());
+        when(studentRepository.findByEmail("e@unibague.edu.co")).thenReturn(Optional.of(student));
+        when(studentRepository.findById("1")).thenReturn(Optional.of(student));
+
+        assertThat(userService.findUserByEmail("e@unibague.edu.co")).get().isInstanceOf(StudentLogDTO.class);
+        assertThat(userService.getUserById("1")).get().isInstanceOf(Student.class);
+
+        verify(studentRepository).findByEmail("e@unibague.edu.co");
+        verify(studentRepository).findById("1");
+        verifyNoInteractions(actorRepository, identityRegistry);
+    }
+
+    @Test
+    void getUserByIdFallsBackToActors() {
+        Actor actor = new Actor();
+        actor.setIdUser("A1");
+        when(actorRepository.findById("A1")).thenReturn(Optional.of(actor));
+
+        assertThat(userService.getUserById("A1")).get().isInstanceOf(Actor.class);
+        assertThat(userService.getUserById("missing")).isEmpty();
+    }
+
+    private static Student student(String id, List<String> programs) {
+        Student student = new Student();
+        student.setIdUser(id);
+        student.setPrograms(programs);
+        return student;
+    }
+}